@@ -0,0 +1,32 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.CyberWalkApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the real application against a private in-memory H2 database seeded
+ * by DataInitializer, so benchmarks exercise the same beans as production.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] defaults = {
+                "--spring.datasource.url=jdbc:h2:mem:cyberwalk-bench;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--cyberwalk.match-log.directory=target/match-log",
+                "--server.port=0",
+                "--logging.level.root=WARN"
+        };
+        String[] args = new String[defaults.length + extraArgs.length];
+        System.arraycopy(defaults, 0, args, 0, defaults.length);
+        System.arraycopy(extraArgs, 0, args, defaults.length, extraArgs.length);
+
+        return new SpringApplicationBuilder(CyberWalkApplication.class).run(args);
+    }
+}
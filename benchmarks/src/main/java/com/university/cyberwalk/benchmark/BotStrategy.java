@@ -0,0 +1,55 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.dto.DefenderChoiceDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a simulated player picks from the options the game offers. Attackers
+ * have no score information to go on, so only the defender side differs.
+ */
+enum BotStrategy {
+
+    // Every pick uniformly at random
+    RANDOM {
+        @Override
+        DefenderChoiceDto chooseDefence(List<DefenderChoiceDto> choices) {
+            return pick(choices);
+        }
+    },
+
+    // Defender always takes the choice with the best defender score delta
+    CAUTIOUS {
+        @Override
+        DefenderChoiceDto chooseDefence(List<DefenderChoiceDto> choices) {
+            return choices.stream()
+                    .max(Comparator.comparingInt(DefenderChoiceDto::getDefenderScoreDelta))
+                    .orElseThrow(() -> new IllegalStateException("No defender choices offered"));
+        }
+    },
+
+    // Defender takes the worst choice, so matches score heavily for the attacker
+    GULLIBLE {
+        @Override
+        DefenderChoiceDto chooseDefence(List<DefenderChoiceDto> choices) {
+            return choices.stream()
+                    .min(Comparator.comparingInt(DefenderChoiceDto::getDefenderScoreDelta))
+                    .orElseThrow(() -> new IllegalStateException("No defender choices offered"));
+        }
+    };
+
+    abstract DefenderChoiceDto chooseDefence(List<DefenderChoiceDto> choices);
+
+    <T> T chooseAttack(List<T> candidates) {
+        return pick(candidates);
+    }
+
+    static <T> T pick(List<T> candidates) {
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("Nothing to choose from");
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+}
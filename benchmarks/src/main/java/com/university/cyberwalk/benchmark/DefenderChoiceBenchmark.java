@@ -0,0 +1,104 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameRoomService;
+import com.university.cyberwalk.service.RoomStateEngine;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The call behind POST /api/game/{roomId}/defender-choice. Each invocation
+ * first plays the room forward to DEFENDER_RESPONSE outside the measured
+ * section, starting a new game whenever the last one ended.
+ *
+ * The "statements" and "choices" counters are totals over the measurement:
+ * JDBC statements Hibernate prepared while a choice was running, and choices
+ * made. Statistics are global, so a write-behind flush that lands inside a
+ * choice is counted too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DefenderChoiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private GamePlayService gamePlayService;
+    private RoomStateEngine roomStateEngine;
+    private Statistics statistics;
+
+    private String roomId;
+    private Long levelId;
+    private Long profileId;
+    private Long scenarioId;
+    private Long optionId;
+    private Long choiceId;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.jpa.properties.hibernate.generate_statistics=true");
+        gamePlayService = context.getBean(GamePlayService.class);
+        roomStateEngine = context.getBean(RoomStateEngine.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        GameRoomService gameRoomService = context.getBean(GameRoomService.class);
+
+        roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+
+        levelId = gamePlayService.getAvailableLevels().get(0).getId();
+        profileId = gamePlayService.getDefenderProfiles(levelId).get(0).getId();
+        scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+        optionId = gamePlayService.getAttackOptions(scenarioId).get(0).getId();
+        choiceId = gamePlayService.getDefenderChoices(optionId).get(0).getId();
+
+        gamePlayService.startNewGame(roomId);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+        public long choices;
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void playToDefenderResponse() {
+        GameRoom.GamePhase phase = roomStateEngine.snapshot(roomId).getGamePhase();
+        if (phase == GameRoom.GamePhase.GAME_OVER) {
+            gamePlayService.startNewGame(roomId);
+            phase = GameRoom.GamePhase.LEVEL_SELECT;
+        }
+        if (phase == GameRoom.GamePhase.LEVEL_SELECT) {
+            gamePlayService.selectLevel(roomId, levelId);
+            gamePlayService.selectDefenderProfile(roomId, profileId);
+        }
+        if (phase == GameRoom.GamePhase.OUTCOME_DISPLAY) {
+            gamePlayService.continueToNextRound(roomId);
+        }
+        gamePlayService.selectAttackScenario(roomId, scenarioId);
+        gamePlayService.selectAttackOption(roomId, optionId);
+    }
+
+    @Benchmark
+    public GameRoom makeDefenderChoice(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        GameRoom room = gamePlayService.makeDefenderChoice(roomId, choiceId);
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        counters.choices++;
+        return room;
+    }
+}
@@ -0,0 +1,124 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.exception.InvalidPhaseException;
+import com.university.cyberwalk.exception.NotFoundException;
+import com.university.cyberwalk.exception.WrongTurnException;
+import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameRoomService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejecting an invalid request. The throw benchmarks raise an error
+ * {@code depth} frames below the catch, roughly what a Spring MVC request
+ * stack adds, comparing a plain RuntimeException (what services used to
+ * throw) with the stackless game errors. The rejection benchmarks go through
+ * GamePlayService: an attacker action during the defender's turn, and a poll
+ * for a room id that does not exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GameErrorBenchmark {
+
+    @Param({"20", "100"})
+    private int depth;
+
+    @Benchmark
+    public String throwRuntimeException() {
+        try {
+            return throwAt(depth, () -> new RuntimeException("Not attacker's turn"));
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String throwStacklessGameError() {
+        try {
+            return throwAt(depth, () -> new InvalidPhaseException("Not attacker's turn"));
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String throwPreallocatedGameError() {
+        try {
+            return throwAt(depth, () -> WrongTurnException.NOT_ATTACKER_TURN);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String wrongTurnRejection(GameApplication application) {
+        try {
+            application.gamePlayService.selectLevel(application.roomId, application.levelId);
+            throw new IllegalStateException("Room was expected to be in the defender's turn");
+        } catch (WrongTurnException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String staleRoomPoll(GameApplication application) {
+        try {
+            return application.gamePlayService.getGameStateTag("STALE1");
+        } catch (NotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String throwAt(int depth, ErrorFactory error) {
+        if (depth == 0) {
+            throw error.create();
+        }
+        return throwAt(depth - 1, error);
+    }
+
+    private interface ErrorFactory {
+        RuntimeException create();
+    }
+
+    // Only started for the rejection benchmarks
+    @State(Scope.Benchmark)
+    public static class GameApplication {
+
+        private ConfigurableApplicationContext context;
+        private GamePlayService gamePlayService;
+        private String roomId;
+        private Long levelId;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Trial)
+        public void setUp() {
+            context = BenchmarkApplication.start();
+            gamePlayService = context.getBean(GamePlayService.class);
+            GameRoomService gameRoomService = context.getBean(GameRoomService.class);
+
+            roomId = gameRoomService.createRoom().getRoomId();
+            gameRoomService.joinRoom(roomId, "ATTACKER");
+            gameRoomService.joinRoom(roomId, "DEFENDER");
+
+            // Play up to the defender's turn, where every attacker action is rejected
+            levelId = gamePlayService.getAvailableLevels().get(0).getId();
+            Long profileId = gamePlayService.getDefenderProfiles(levelId).get(0).getId();
+            Long scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+            Long optionId = gamePlayService.getAttackOptions(scenarioId).get(0).getId();
+            gamePlayService.startNewGame(roomId);
+            gamePlayService.selectLevel(roomId, levelId);
+            gamePlayService.selectDefenderProfile(roomId, profileId);
+            gamePlayService.selectAttackScenario(roomId, scenarioId);
+            gamePlayService.selectAttackOption(roomId, optionId);
+        }
+
+        @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.university.cyberwalk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameRoomService;
+import com.university.cyberwalk.service.LevelEditorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths behind GamePlayController and LevelEditorController:
+ * state reads, phase transitions, content lookups, DTO mapping of a large
+ * level tree and JSON serialization of GameStateDto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GamePlayBenchmark {
+
+    // Size of the synthetic level used for the editor mapping benchmark
+    private static final int LARGE_LEVEL_SCENARIOS = 10;
+    private static final int LARGE_LEVEL_OPTIONS = 10;
+    private static final int LARGE_LEVEL_CHOICES = 10;
+
+    private ConfigurableApplicationContext context;
+    private GamePlayService gamePlayService;
+    private LevelEditorService levelEditorService;
+    private ObjectMapper objectMapper;
+
+    private String roomId;
+    private Long levelId;
+    private Long scenarioId;
+    private Long largeLevelId;
+    private GameStateDto gameState;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        gamePlayService = context.getBean(GamePlayService.class);
+        levelEditorService = context.getBean(LevelEditorService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        GameRoomService gameRoomService = context.getBean(GameRoomService.class);
+
+        GameRoom room = gameRoomService.createRoom();
+        roomId = room.getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+
+        levelId = gamePlayService.getAvailableLevels().get(0).getId();
+        scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+        Long profileId = gamePlayService.getDefenderProfiles(levelId).get(0).getId();
+
+        gamePlayService.startNewGame(roomId);
+        gamePlayService.selectLevel(roomId, levelId);
+        gamePlayService.selectDefenderProfile(roomId, profileId);
+        gameState = gamePlayService.getGameState(roomId);
+
+        largeLevelId = createLargeLevel();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GameStateDto getGameState() {
+        return gamePlayService.getGameState(roomId);
+    }
+
+    @Benchmark
+    public GameRoom roomStateTransition() {
+        gamePlayService.startNewGame(roomId);
+        return gamePlayService.selectLevel(roomId, levelId);
+    }
+
+    @Benchmark
+    public List<AttackOptionDto> contentLookup() {
+        return gamePlayService.getAttackOptions(scenarioId);
+    }
+
+    @Benchmark
+    public LevelDto levelDtoMappingLargeLevel() {
+        return levelEditorService.getLevelById(largeLevelId);
+    }
+
+    @Benchmark
+    public byte[] serializeGameState() throws Exception {
+        return objectMapper.writeValueAsBytes(gameState);
+    }
+
+    private Long createLargeLevel() {
+        LevelDto level = new LevelDto();
+        level.setName("Benchmark Level");
+        level.setDifficulty("EXPERT");
+        level.setEnabled(false);
+        level.setMaxAttacks(5);
+        Long id = levelEditorService.createLevel(level).getId();
+
+        for (int s = 0; s < LARGE_LEVEL_SCENARIOS; s++) {
+            AttackScenarioDto scenario = new AttackScenarioDto();
+            scenario.setAttackType("PHISHING_EMAIL");
+            scenario.setName("Scenario " + s);
+            Long createdScenarioId = levelEditorService.createAttackScenario(id, scenario).getId();
+
+            for (int o = 0; o < LARGE_LEVEL_OPTIONS; o++) {
+                AttackOptionDto option = new AttackOptionDto();
+                option.setLabel("Option " + s + "." + o);
+                option.setAttackerMessage("Please verify your account");
+                Long optionId = levelEditorService.createAttackOption(createdScenarioId, option).getId();
+
+                for (int c = 0; c < LARGE_LEVEL_CHOICES; c++) {
+                    DefenderChoiceDto choice = new DefenderChoiceDto();
+                    choice.setLabel("Choice " + c);
+                    choice.setOutcome("Outcome " + c);
+                    choice.setDefenderScoreDelta(c % 2 == 0 ? 10 : -10);
+                    choice.setAttackerScoreDelta(c % 2 == 0 ? -10 : 10);
+                    choice.setChoiceType(c % 2 == 0 ? "CORRECT" : "WRONG");
+                    levelEditorService.createDefenderChoice(optionId, choice);
+                }
+            }
+        }
+        return id;
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.cyberwalk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.service.LevelEditorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side deep clone of a synthetic level with 10,000 defender choices
+ * (10 scenarios x 10 options x 100 choices), including the content graph
+ * rebuild that follows the commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class LevelCloneBenchmark {
+
+    private static final int SCENARIOS = 10;
+    private static final int OPTIONS_PER_SCENARIO = 10;
+    private static final int CHOICES_PER_OPTION = 100;
+
+    private ConfigurableApplicationContext context;
+    private LevelEditorService levelEditorService;
+
+    private Long sourceLevelId;
+    private Long cloneId;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start();
+        levelEditorService = context.getBean(LevelEditorService.class);
+
+        byte[] bundle = context.getBean(ObjectMapper.class)
+                .writeValueAsBytes(new ContentBundle(1, List.of(syntheticLevel())));
+        sourceLevelId = levelEditorService.importLevels(new ByteArrayInputStream(bundle)).get(0).getId();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Invocation)
+    public void deleteClone() {
+        if (cloneId != null) {
+            levelEditorService.deleteLevel(cloneId);
+            cloneId = null;
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LevelDto cloneLevel() {
+        LevelDto clone = levelEditorService.cloneLevel(sourceLevelId);
+        cloneId = clone.getId();
+        return clone;
+    }
+
+    private static LevelDto syntheticLevel() {
+        LevelDto level = new LevelDto();
+        level.setName("Clone Benchmark Level");
+        level.setDifficulty("EXPERT");
+        level.setMaxAttacks(5);
+        level.setDefenderProfiles(List.of());
+        level.setAttackScenarios(new ArrayList<>());
+
+        for (int s = 0; s < SCENARIOS; s++) {
+            AttackScenarioDto scenario = new AttackScenarioDto();
+            scenario.setAttackType("PHISHING_EMAIL");
+            scenario.setName("Scenario " + s);
+            scenario.setAttackOptions(new ArrayList<>());
+
+            for (int o = 0; o < OPTIONS_PER_SCENARIO; o++) {
+                AttackOptionDto option = new AttackOptionDto();
+                option.setLabel("Option " + s + "." + o);
+                option.setAttackerMessage("Please verify your account");
+                option.setDefenderChoices(new ArrayList<>());
+
+                for (int c = 0; c < CHOICES_PER_OPTION; c++) {
+                    DefenderChoiceDto choice = new DefenderChoiceDto();
+                    choice.setLabel("Choice " + c);
+                    choice.setOutcome("Outcome " + c);
+                    choice.setDefenderScoreDelta(c % 2 == 0 ? 10 : -10);
+                    choice.setAttackerScoreDelta(c % 2 == 0 ? -10 : 10);
+                    choice.setChoiceType(c % 2 == 0 ? "CORRECT" : "WRONG");
+                    option.getDefenderChoices().add(choice);
+                }
+                scenario.getAttackOptions().add(option);
+            }
+            level.getAttackScenarios().add(scenario);
+        }
+        return level;
+    }
+}
@@ -0,0 +1,91 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.model.User;
+import com.university.cyberwalk.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A classroom login burst: {@value #STUDENTS} students submit the login form
+ * at the same moment, through the same AuthenticationManager as /login.
+ * Reported in logins per second for the BCrypt cost and user cache TTL
+ * (0s = cache off) under test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LoginBurstBenchmark {
+
+    private static final int STUDENTS = 500;
+    private static final String PASSWORD = "classroom-password";
+
+    @Param({"10", "8"})
+    private int bcryptStrength;
+
+    @Param({"5m", "0s"})
+    private String userCacheTtl;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationManager authenticationManager;
+    private ExecutorService students;
+    private List<String> usernames;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                "--cyberwalk.security.bcrypt-strength=" + bcryptStrength,
+                "--cyberwalk.security.user-cache.ttl=" + userCacheTtl);
+        authenticationManager = context.getBean(AuthenticationManager.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        usernames = IntStream.range(0, STUDENTS).mapToObj(i -> "student" + i).collect(Collectors.toList());
+        userRepository.saveAll(usernames.parallelStream()
+                .map(username -> new User(username, passwordEncoder.encode(PASSWORD), "USER"))
+                .collect(Collectors.toList()));
+
+        students = Executors.newFixedThreadPool(STUDENTS);
+        // Everyone has logged in once before, as after the first lesson
+        loginBurst();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        students.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STUDENTS)
+    public int loginBurst() throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> logins = new ArrayList<>(STUDENTS);
+        for (String username : usernames) {
+            logins.add(students.submit(() -> {
+                go.await();
+                return authenticationManager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated(username, PASSWORD)).isAuthenticated();
+            }));
+        }
+        go.countDown();
+
+        int authenticated = 0;
+        for (Future<Boolean> login : logins) {
+            if (login.get()) {
+                authenticated++;
+            }
+        }
+        return authenticated;
+    }
+}
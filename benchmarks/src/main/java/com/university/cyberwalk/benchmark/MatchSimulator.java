@@ -0,0 +1,285 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameRoomService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless load test: plays complete matches (LEVEL_SELECT to GAME_OVER)
+ * between bot attackers and defenders against GamePlayService, the same calls
+ * game.js makes through GamePlayController, with think time between moves.
+ *
+ * Run with:  mvn -f benchmarks/pom.xml package exec:exec@simulate
+ * Options:   -Dsim.args="rooms=500 concurrency=100 games=2 think-ms=20-200 strategy=CAUTIOUS"
+ *
+ * Each bot waits for its turn by polling getGameState like the browser does.
+ * One thread plays both sides of a room, so the turn is normally there on the
+ * first poll; each further poll waits the browser's polling interval.
+ * Rooms in flight are capped at {@code concurrency}; on Java 21 every room
+ * runs on a virtual thread, on older runtimes on a fixed platform pool.
+ * Prints throughput, per-action latency percentiles and errors at the end.
+ */
+public final class MatchSimulator {
+
+    // A match that has not reached GAME_OVER after this many attacks is stuck
+    private static final int MAX_ATTACKS_PER_MATCH = 100;
+
+    // game.js falls back to polling every 1.5 s; a turn not seen within a minute is stuck
+    private static final long POLL_INTERVAL_MILLIS = 1500;
+    private static final int MAX_POLLS_PER_TURN = 40;
+
+    private final GamePlayService gamePlayService;
+    private final GameRoomService gameRoomService;
+    private final BotStrategy strategy;
+    private final int thinkMinMillis;
+    private final int thinkMaxMillis;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder matchesCompleted = new LongAdder();
+    private final LongAdder matchesFailed = new LongAdder();
+
+    private MatchSimulator(ConfigurableApplicationContext context, BotStrategy strategy,
+            int thinkMinMillis, int thinkMaxMillis) {
+        this.gamePlayService = context.getBean(GamePlayService.class);
+        this.gameRoomService = context.getBean(GameRoomService.class);
+        this.strategy = strategy;
+        this.thinkMinMillis = thinkMinMillis;
+        this.thinkMaxMillis = thinkMaxMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int rooms = Integer.parseInt(options.getOrDefault("rooms", "100"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "50"));
+        int games = Integer.parseInt(options.getOrDefault("games", "1"));
+        BotStrategy strategy = BotStrategy.valueOf(options.getOrDefault("strategy", "RANDOM").toUpperCase());
+        String[] think = options.getOrDefault("think-ms", "0").split("-");
+        int thinkMin = Integer.parseInt(think[0]);
+        int thinkMax = think.length > 1 ? Integer.parseInt(think[1]) : thinkMin;
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start()) {
+            MatchSimulator simulator = new MatchSimulator(context, strategy, thinkMin, thinkMax);
+            System.out.printf("Simulating %d rooms x %d games, %d concurrent, think %d-%d ms, %s bots%n",
+                    rooms, games, concurrency, thinkMin, thinkMax, strategy);
+
+            long start = System.nanoTime();
+            simulator.run(rooms, games, concurrency);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            simulator.report(elapsed);
+        }
+    }
+
+    // ========== SIMULATION ==========
+
+    private void run(int rooms, int games, int concurrency) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(rooms);
+        ExecutorService executor = newExecutor(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        playRoom(games);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Simulator worker died", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void playRoom(int games) {
+        String roomId;
+        try {
+            roomId = openRoom();
+        } catch (Exception e) {
+            matchesFailed.add(games);
+            return;
+        }
+
+        for (int game = 0; game < games; game++) {
+            try {
+                playMatch(roomId);
+                matchesCompleted.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                matchesFailed.increment();
+            }
+        }
+    }
+
+    private String openRoom() throws Exception {
+        String roomId = timed("createRoom", gameRoomService::createRoom).getRoomId();
+        timed("joinRoom", () -> gameRoomService.joinRoom(roomId, "ATTACKER"));
+        timed("joinRoom", () -> gameRoomService.joinRoom(roomId, "DEFENDER"));
+        return roomId;
+    }
+
+    private void playMatch(String roomId) throws Exception {
+        timed("startNewGame", () -> gamePlayService.startNewGame(roomId));
+
+        // Attacker: level and target
+        think();
+        LevelDto level = strategy.chooseAttack(timed("getAvailableLevels", gamePlayService::getAvailableLevels));
+        timed("selectLevel", () -> gamePlayService.selectLevel(roomId, level.getId()));
+        think();
+        DefenderProfileDto profile = strategy.chooseAttack(
+                timed("getDefenderProfiles", () -> gamePlayService.getDefenderProfiles(level.getId())));
+        timed("selectDefenderProfile", () -> gamePlayService.selectDefenderProfile(roomId, profile.getId()));
+
+        for (int attack = 0; attack < MAX_ATTACKS_PER_MATCH; attack++) {
+            // Attacker: pick and launch an attack
+            think();
+            awaitTurn(roomId, GameRoom.GamePhase.ATTACK_TYPE_SELECT);
+            AttackScenarioDto scenario = strategy.chooseAttack(
+                    timed("getAttackScenarios", () -> gamePlayService.getAttackScenarios(level.getId())));
+            timed("selectAttackScenario", () -> gamePlayService.selectAttackScenario(roomId, scenario.getId()));
+            think();
+            AttackOptionDto option = strategy.chooseAttack(
+                    timed("getAttackOptions", () -> gamePlayService.getAttackOptions(scenario.getId())));
+            GameRoom launched = timed("selectAttackOption",
+                    () -> gamePlayService.selectAttackOption(roomId, option.getId()));
+            if (launched.getGamePhase() == GameRoom.GamePhase.GAME_OVER) {
+                return;
+            }
+
+            // Defender: notice the attack and respond
+            think();
+            awaitTurn(roomId, GameRoom.GamePhase.DEFENDER_RESPONSE);
+            DefenderChoiceDto choice = strategy.chooseDefence(timed("getDefenderChoices",
+                    () -> gamePlayService.getDefenderChoices(launched.getCurrentAttackOptionId())));
+            GameRoom answered = timed("makeDefenderChoice",
+                    () -> gamePlayService.makeDefenderChoice(roomId, choice.getId()));
+            if (answered.getGamePhase() == GameRoom.GamePhase.GAME_OVER) {
+                return;
+            }
+
+            think();
+            timed("continueToNextRound", () -> gamePlayService.continueToNextRound(roomId));
+        }
+        throw new IllegalStateException("Match in room " + roomId + " did not finish after "
+                + MAX_ATTACKS_PER_MATCH + " attacks");
+    }
+
+    // ========== REPORTING ==========
+
+    private void report(Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        long completed = matchesCompleted.sum();
+        long failed = matchesFailed.sum();
+        long actions = timers.values().stream().mapToLong(Timer::count).sum();
+        long failedActions = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+        System.out.printf("%nElapsed %.1f s: %d matches completed, %d failed%n", seconds, completed, failed);
+        System.out.printf("Throughput: %.1f matches/s, %.1f actions/s, error rate %.3f%%%n",
+                completed / seconds, actions / seconds, actions == 0 ? 0.0 : 100.0 * failedActions / actions);
+
+        System.out.printf("%n%-24s %9s %9s %9s %9s %9s %9s%n", "action (ms)", "count", "mean", "p50", "p90", "p99", "max");
+        new TreeMap<>(timers).forEach((action, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<Double, Double> percentiles = new HashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+            }
+            System.out.printf("%-24s %9d %9.3f %9.3f %9.3f %9.3f %9.3f%n", action, snapshot.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS), percentiles.getOrDefault(0.5, 0.0),
+                    percentiles.getOrDefault(0.9, 0.0), percentiles.getOrDefault(0.99, 0.0),
+                    snapshot.max(TimeUnit.MILLISECONDS));
+        });
+
+        if (!errors.isEmpty()) {
+            System.out.printf("%nErrors:%n");
+            new TreeMap<>(errors).forEach((error, count) -> System.out.printf("%9d  %s%n", count.sum(), error));
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> T timed(String action, Callable<T> call) throws Exception {
+        Timer timer = timers.computeIfAbsent(action, name -> Timer.builder("simulator.action")
+                .tag("action", name)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry));
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } catch (Exception e) {
+            errors.computeIfAbsent(action + ": " + e.getMessage(), key -> new LongAdder()).increment();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // What game.js does on its polling interval while waiting for its turn
+    private void awaitTurn(String roomId, GameRoom.GamePhase phase) throws Exception {
+        for (int polls = 0; polls < MAX_POLLS_PER_TURN; polls++) {
+            if (polls > 0) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            GameStateDto state = timed("getGameState", () -> gamePlayService.getGameState(roomId));
+            if (phase.name().equals(state.getGamePhase())) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Room " + roomId + " did not reach " + phase + " after "
+                + MAX_POLLS_PER_TURN + " polls");
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMaxMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMinMillis, thinkMaxMillis + 1));
+        }
+    }
+
+    // Virtual threads need Java 21 while the application targets 17
+    private static ExecutorService newExecutor(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
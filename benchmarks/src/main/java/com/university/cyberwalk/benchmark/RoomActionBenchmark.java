@@ -0,0 +1,82 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.repository.GameRoomRepository;
+import com.university.cyberwalk.service.GameRoomService;
+import com.university.cyberwalk.service.RoomStateEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One room action before and after RoomStateEngine. The repository variant
+ * is the pre-engine code path: findByRoomId + save against game_rooms for
+ * every click. The engine variant is GameRoomService.updateScore, which
+ * applies the same change in memory and leaves the write to the flusher.
+ *
+ * Each JMH thread plays its own room, so "-t 4" shows how actions on
+ * different rooms scale:
+ *   -Djmh.args="RoomActionBenchmark -f 1 -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RoomActionBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private GameRoomService gameRoomService;
+    private GameRoomRepository gameRoomRepository;
+    private RoomStateEngine roomStateEngine;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        gameRoomService = context.getBean(GameRoomService.class);
+        gameRoomRepository = context.getBean(GameRoomRepository.class);
+        roomStateEngine = context.getBean(RoomStateEngine.class);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Rooms {
+
+        // Only ever touched through the repository, so the engine never flushes it
+        private String repositoryRoomId;
+        private String engineRoomId;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Trial)
+        public void setUp(RoomActionBenchmark benchmark) {
+            repositoryRoomId = benchmark.gameRoomService.createRoom().getRoomId();
+            engineRoomId = benchmark.gameRoomService.createRoom().getRoomId();
+        }
+    }
+
+    @Benchmark
+    public GameRoom updateScoreRepository(Rooms rooms) {
+        GameRoom room = gameRoomRepository.findByRoomId(rooms.repositoryRoomId)
+                .orElseThrow(() -> new RuntimeException("Room not found"));
+        room.setDefenderScore(room.getDefenderScore() + 1);
+        room.setAttackerScore(room.getAttackerScore() + 1);
+        return gameRoomRepository.save(room);
+    }
+
+    @Benchmark
+    public GameRoom updateScoreEngine(Rooms rooms) {
+        return gameRoomService.updateScore(rooms.engineRoomId, 1, 1);
+    }
+
+    // Includes the write-behind cost: one batched flush per action
+    @Benchmark
+    public GameRoom updateScoreEngineFlushed(Rooms rooms) {
+        GameRoom room = gameRoomService.updateScore(rooms.engineRoomId, 1, 1);
+        roomStateEngine.flushDirtyRooms();
+        return room;
+    }
+}
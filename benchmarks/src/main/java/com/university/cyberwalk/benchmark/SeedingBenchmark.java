@@ -0,0 +1,143 @@
+package com.university.cyberwalk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.model.*;
+import com.university.cyberwalk.repository.*;
+import com.university.cyberwalk.service.LevelEditorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeding the content bundle into an emptied database: the batched import
+ * used by DataInitializer against the previous one-save-per-entity approach,
+ * where every insert ran in its own transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class SeedingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private LevelEditorService levelEditorService;
+    private LevelRepository levelRepository;
+    private DefenderProfileRepository defenderProfileRepository;
+    private AttackScenarioRepository attackScenarioRepository;
+    private AttackOptionRepository attackOptionRepository;
+    private DefenderChoiceRepository defenderChoiceRepository;
+
+    private byte[] bundle;
+    private List<LevelDto> levels;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start();
+        levelEditorService = context.getBean(LevelEditorService.class);
+        levelRepository = context.getBean(LevelRepository.class);
+        defenderProfileRepository = context.getBean(DefenderProfileRepository.class);
+        attackScenarioRepository = context.getBean(AttackScenarioRepository.class);
+        attackOptionRepository = context.getBean(AttackOptionRepository.class);
+        defenderChoiceRepository = context.getBean(DefenderChoiceRepository.class);
+
+        try (InputStream in = new ClassPathResource("content/levels.json").getInputStream()) {
+            bundle = in.readAllBytes();
+        }
+        levels = context.getBean(ObjectMapper.class).readValue(bundle, ContentBundle.class).getLevels();
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void clearContent() {
+        levelRepository.deleteAll();
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LevelDto> bundleImport() throws IOException {
+        return levelEditorService.importLevels(new ByteArrayInputStream(bundle));
+    }
+
+    @Benchmark
+    public int entityByEntitySaves() {
+        int saved = 0;
+        for (LevelDto levelDto : levels) {
+            com.university.cyberwalk.model.Level level = new com.university.cyberwalk.model.Level();
+            level.setName(levelDto.getName());
+            level.setDescription(levelDto.getDescription());
+            level.setDifficulty(levelDto.getDifficulty());
+            level.setEnabled(levelDto.isEnabled());
+            level.setOrderIndex(levelDto.getOrderIndex());
+            level.setMaxAttacks(levelDto.getMaxAttacks());
+            level = levelRepository.save(level);
+            saved++;
+
+            for (DefenderProfileDto profileDto : levelDto.getDefenderProfiles()) {
+                DefenderProfile profile = new DefenderProfile();
+                profile.setName(profileDto.getName());
+                profile.setDescription(profileDto.getDescription());
+                profile.setAge(profileDto.getAge());
+                profile.setAgeGroup(profileDto.getAgeGroup());
+                profile.setOccupation(profileDto.getOccupation());
+                profile.setTechSavviness(profileDto.getTechSavviness());
+                profile.setMentalState(profileDto.getMentalState());
+                profile.setFinancialStatus(profileDto.getFinancialStatus());
+                profile.setAvatarIcon(profileDto.getAvatarIcon());
+                profile.setLevel(level);
+                defenderProfileRepository.save(profile);
+                saved++;
+            }
+
+            for (AttackScenarioDto scenarioDto : levelDto.getAttackScenarios()) {
+                AttackScenario scenario = new AttackScenario();
+                scenario.setAttackType(scenarioDto.getAttackType());
+                scenario.setName(scenarioDto.getName());
+                scenario.setDescription(scenarioDto.getDescription());
+                scenario.setAttackerNarrative(scenarioDto.getAttackerNarrative());
+                scenario.setLevel(level);
+                scenario = attackScenarioRepository.save(scenario);
+                saved++;
+
+                for (AttackOptionDto optionDto : scenarioDto.getAttackOptions()) {
+                    AttackOption option = new AttackOption();
+                    option.setLabel(optionDto.getLabel());
+                    option.setDescription(optionDto.getDescription());
+                    option.setAttackerMessage(optionDto.getAttackerMessage());
+                    option.setImpersonatedEntity(optionDto.getImpersonatedEntity());
+                    option.setBaseAttackerPoints(optionDto.getBaseAttackerPoints());
+                    option.setRiskLevel(optionDto.getRiskLevel());
+                    option.setCriticalRisk(optionDto.isCriticalRisk());
+                    option.setAttackScenario(scenario);
+                    option = attackOptionRepository.save(option);
+                    saved++;
+
+                    for (DefenderChoiceDto choiceDto : optionDto.getDefenderChoices()) {
+                        DefenderChoice choice = new DefenderChoice();
+                        choice.setLabel(choiceDto.getLabel());
+                        choice.setDescription(choiceDto.getDescription());
+                        choice.setOutcome(choiceDto.getOutcome());
+                        choice.setDefenderScoreDelta(choiceDto.getDefenderScoreDelta());
+                        choice.setAttackerScoreDelta(choiceDto.getAttackerScoreDelta());
+                        choice.setChoiceType(choiceDto.getChoiceType());
+                        choice.setEducationalNote(choiceDto.getEducationalNote());
+                        choice.setAttackOption(option);
+                        defenderChoiceRepository.save(choice);
+                        saved++;
+                    }
+                }
+            }
+        }
+        return saved;
+    }
+}
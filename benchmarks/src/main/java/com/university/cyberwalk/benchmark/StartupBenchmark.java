@@ -0,0 +1,22 @@
+package com.university.cyberwalk.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-boot cost: starts the application against an empty in-memory
+ * database, so DataInitializer seeds the content bundle, then shuts it down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StartupBenchmark {
+
+    @Benchmark
+    public void coldStartWithSeeding() {
+        BenchmarkApplication.start().close();
+    }
+}
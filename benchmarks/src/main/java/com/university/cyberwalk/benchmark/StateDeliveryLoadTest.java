@@ -0,0 +1,312 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.service.AuthTokenService;
+import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameRoomService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivery of game state to many rooms over real HTTP. Each room has one
+ * client that either polls GET /api/game/{roomId}/state every 1.5 s (what
+ * game.js does without EventSource), polls it with If-None-Match, or holds a
+ * GET /api/game/{roomId}/stream subscription. A driver applies a game action to every room at a fixed
+ * interval, and each client records how long it took to see the new state.
+ *
+ * Run with:  mvn -f benchmarks/pom.xml package exec:exec@delivery
+ * Options:   -Ddelivery.args="mode=push rooms=1000 seconds=60 change-every-ms=5000"
+ *
+ * Modes: poll, poll-etag, push. Prints HTTP requests per second, 304 share,
+ * response body bytes, process CPU time, and request and change-to-client
+ * delivery latency percentiles. Clients, driver and server share one JVM,
+ * so absolute numbers include the clients' own cost.
+ */
+public final class StateDeliveryLoadTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(1500);
+
+    private final String mode;
+    private final int changeEveryMillis;
+    private final GamePlayService gamePlayService;
+    private final GameRoomService gameRoomService;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String authorization;
+    private final Long levelId;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer requestLatency = percentileTimer("request");
+    private final Timer deliveryLatency = percentileTimer("delivery");
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bodyBytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+
+    private StateDeliveryLoadTest(ConfigurableApplicationContext context, String mode, int changeEveryMillis) {
+        this.mode = mode;
+        this.changeEveryMillis = changeEveryMillis;
+        this.gamePlayService = context.getBean(GamePlayService.class);
+        this.gameRoomService = context.getBean(GameRoomService.class);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        String token = context.getBean(AuthTokenService.class).issue(UsernamePasswordAuthenticationToken.authenticated(
+                "loadtest", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        this.authorization = "Bearer " + token;
+        this.levelId = gamePlayService.getAvailableLevels().get(0).getId();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String mode = options.getOrDefault("mode", "push");
+        int rooms = Integer.parseInt(options.getOrDefault("rooms", "1000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        int changeEveryMillis = Integer.parseInt(options.getOrDefault("change-every-ms", "5000"));
+        if (!List.of("poll", "poll-etag", "push").contains(mode)) {
+            throw new IllegalArgumentException("mode must be poll, poll-etag or push, got: " + mode);
+        }
+
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "--cyberwalk.security.stateless=true",
+                "--cyberwalk.security.token-ttl=2h")) {
+            StateDeliveryLoadTest loadTest = new StateDeliveryLoadTest(context, mode, changeEveryMillis);
+            System.out.printf("Delivering state to %d rooms by %s for %d s, one change per room every %d ms%n",
+                    rooms, mode, seconds, changeEveryMillis);
+            loadTest.run(rooms, Duration.ofSeconds(seconds));
+        }
+    }
+
+    // ========== LOAD ==========
+
+    private void run(int roomCount, Duration duration) throws InterruptedException {
+        List<RoomProbe> rooms = new ArrayList<>();
+        for (int i = 0; i < roomCount; i++) {
+            String roomId = gameRoomService.createRoom().getRoomId();
+            gameRoomService.joinRoom(roomId, "ATTACKER");
+            gameRoomService.joinRoom(roomId, "DEFENDER");
+            gamePlayService.startNewGame(roomId);
+            rooms.add(new RoomProbe(roomId));
+        }
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        try {
+            for (RoomProbe room : rooms) {
+                long offset = ThreadLocalRandom.current().nextLong(changeEveryMillis);
+                if (mode.startsWith("poll")) {
+                    scheduler.scheduleAtFixedRate(() -> poll(room),
+                            offset % POLL_INTERVAL.toMillis(), POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                } else {
+                    subscribe(room);
+                }
+                scheduler.scheduleAtFixedRate(() -> change(room), changeEveryMillis + offset, changeEveryMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+
+            long start = System.nanoTime();
+            long cpuStart = processCpuNanos();
+            Thread.sleep(duration.toMillis());
+            report(Duration.ofNanos(System.nanoTime() - start), Duration.ofNanos(processCpuNanos() - cpuStart));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Driver: alternate the room between LEVEL_SELECT and PROFILE_SELECT
+    private void change(RoomProbe room) {
+        try {
+            if (room.levelSelected) {
+                room.expect("LEVEL_SELECT");
+                gamePlayService.startNewGame(room.roomId);
+            } else {
+                room.expect("PROFILE_SELECT");
+                gamePlayService.selectLevel(room.roomId, levelId);
+            }
+            room.levelSelected = !room.levelSelected;
+            changes.increment();
+        } catch (RuntimeException e) {
+            errors.increment();
+        }
+    }
+
+    private void poll(RoomProbe room) {
+        HttpRequest.Builder request = request(room.roomId, "/state");
+        String etag = room.etag;
+        if ("poll-etag".equals(mode) && etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        long start = System.nanoTime();
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    requests.increment();
+                    requestLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (failure != null) {
+                        errors.increment();
+                    } else if (response.statusCode() == 304) {
+                        notModified.increment();
+                    } else if (response.statusCode() == 200) {
+                        bodyBytes.add(response.body().length());
+                        room.etag = response.headers().firstValue("ETag").orElse(null);
+                        room.observe(phaseOf(response.body()));
+                    } else {
+                        errors.increment();
+                    }
+                });
+    }
+
+    private void subscribe(RoomProbe room) {
+        requests.increment();
+        httpClient.sendAsync(request(room.roomId, "/stream").build(), HttpResponse.BodyHandlers.fromLineSubscriber(
+                new Flow.Subscriber<String>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(String line) {
+                        // +1 for the newline the line subscriber strips
+                        bodyBytes.add(line.length() + 1);
+                        if (line.startsWith("data:")) {
+                            room.observe(phaseOf(line));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable failure) {
+                        errors.increment();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                })).whenComplete((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.increment();
+                    }
+                });
+    }
+
+    private HttpRequest.Builder request(String roomId, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/game/" + roomId + path))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofMinutes(10))
+                .GET();
+    }
+
+    // ========== REPORTING ==========
+
+    private void report(Duration elapsed, Duration cpu) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        System.out.printf("%nElapsed %.1f s: %d changes, %d missed (superseded before the client saw them)%n",
+                seconds, changes.sum(), missed.sum());
+        System.out.printf("HTTP requests: %d (%.1f/s), 304 Not Modified %d, errors %d%n", requests.sum(),
+                requests.sum() / seconds, notModified.sum(), errors.sum());
+        System.out.printf("Response body bytes: %d (%.1f KB/s)%n", bodyBytes.sum(), bodyBytes.sum() / seconds / 1024);
+        System.out.printf("Process CPU: %.1f s (%.0f%% of one core)%n", cpu.toMillis() / 1000.0,
+                100.0 * cpu.toMillis() / 1000.0 / seconds);
+        System.out.printf("%n%-10s %9s %9s %9s %9s %9s%n", "(ms)", "count", "mean", "p50", "p99", "max");
+        print("request", requestLatency);
+        print("delivery", deliveryLatency);
+    }
+
+    private static void print(String name, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<Double, Double> percentiles = new HashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("%-10s %9d %9.1f %9.1f %9.1f %9.1f%n", name, snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS), percentiles.getOrDefault(0.5, 0.0),
+                percentiles.getOrDefault(0.99, 0.0), snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Timer percentileTimer(String name) {
+        return Timer.builder("delivery." + name)
+                .publishPercentiles(0.5, 0.99)
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    // Cheaper than parsing the whole GameStateDto on every poll
+    private static String phaseOf(String json) {
+        int start = json.indexOf("\"gamePhase\":\"");
+        if (start < 0) {
+            return "";
+        }
+        start += "\"gamePhase\":\"".length();
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private final class RoomProbe {
+
+        private final String roomId;
+        private final AtomicLong changedAt = new AtomicLong();
+        private volatile String expectedPhase = "";
+        private volatile String etag;
+        // Only touched by the driver
+        private boolean levelSelected;
+
+        RoomProbe(String roomId) {
+            this.roomId = roomId;
+        }
+
+        // Set before the action runs: a push can arrive before it returns
+        void expect(String phase) {
+            if (changedAt.get() != 0) {
+                missed.increment();
+            }
+            expectedPhase = phase;
+            changedAt.set(System.nanoTime());
+        }
+
+        void observe(String phase) {
+            long since = changedAt.get();
+            if (since != 0 && phase.equals(expectedPhase) && changedAt.compareAndSet(since, 0)) {
+                deliveryLatency.record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.cyberwalk.benchmark;
+
+import com.university.cyberwalk.service.VideoStreamService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parallel byte-range reads as issued by seeking video players:
+ * the zero-copy path used by VideoStreamService against a buffered stream
+ * copy of the same ranges. Runs against a temporary file, no Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class VideoRangeReadBenchmark {
+
+    private static final long FILE_SIZE = 256L * 1024 * 1024;
+    private static final long RANGE_SIZE = 1024 * 1024;
+
+    private Path video;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        video = Files.createTempFile("cyberwalk-bench", ".mp4");
+        byte[] block = new byte[1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(video)) {
+            for (long written = 0; written < FILE_SIZE; written += block.length) {
+                out.write(block);
+            }
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(video);
+    }
+
+    @Benchmark
+    public long transferToRange() throws IOException {
+        DiscardingChannel sink = new DiscardingChannel();
+        VideoStreamService.transferRange(video, randomStart(), RANGE_SIZE, sink);
+        return sink.written;
+    }
+
+    @Benchmark
+    public long streamCopyRange() throws IOException {
+        long written = 0;
+        try (InputStream in = Files.newInputStream(video)) {
+            in.skipNBytes(randomStart());
+            byte[] buffer = new byte[64 * 1024];
+            while (written < RANGE_SIZE) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, RANGE_SIZE - written));
+                if (read < 0) {
+                    break;
+                }
+                written += read;
+            }
+        }
+        return written;
+    }
+
+    private static long randomStart() {
+        return ThreadLocalRandom.current().nextLong(FILE_SIZE - RANGE_SIZE);
+    }
+
+    // Stands in for the socket; consumes the bytes without copying them again
+    private static class DiscardingChannel implements WritableByteChannel {
+        private long written;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            written += remaining;
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.university.cyberwalk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CyberWalkApplication {
     public static void main(String[] args) {
         SpringApplication.run(CyberWalkApplication.class, args);
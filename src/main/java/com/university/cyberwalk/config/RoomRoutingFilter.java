@@ -0,0 +1,345 @@
+package com.university.cyberwalk.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cyberwalk.service.ClusterMembership;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends room requests to the node that owns the room (see
+ * ClusterMembership). The room comes from the path (/api/game/{roomId}/...,
+ * /api/room/{roomId}/...) or, for /api/room/join, from the JSON body.
+ *
+ * In "forward" mode the request is proxied to the owner and the response
+ * streamed back, flushing as it arrives so long-polls and SSE streams work.
+ * The proxy runs asynchronously: the servlet thread is released as soon as
+ * the request is sent, and the response is copied by HttpClient's threads
+ * as it arrives, so a parked long-poll or an open stream holds no worker
+ * thread on the forwarding node. In "redirect" mode the client gets a 307 to
+ * the owner instead.
+ *
+ * A request is routed at most once. If it reaches a node that does not own
+ * the room either, the two nodes' views of the ring disagree for a moment,
+ * e.g. during a handover (see RoomOwnership); it gets a 503 with Retry-After
+ * rather than being served by a node that does not own the room or bounced
+ * back.
+ */
+public class RoomRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomRoutingFilter.class);
+
+    public static final String FORWARDED_BY_HEADER = "X-CyberWalk-Forwarded-By";
+    // Redirects cannot add a header, so they mark the target URL instead
+    public static final String REDIRECTED_BY_PARAM = "cwRedirectedBy";
+
+    // Room codes are upper case; lower-case segments are fixed paths such as /api/game/levels
+    private static final Pattern ROOM_PATH = Pattern.compile("^/api/(?:game|room)/([A-Z0-9]+)(?:/.*)?$");
+    private static final String JOIN_PATH = "/api/room/join";
+
+    // Hop-by-hop headers, and the ones HttpClient sets itself
+    private static final Set<String> UNFORWARDED_HEADERS = Set.of("connection", "content-length", "expect",
+            "host", "upgrade", "keep-alive", "transfer-encoding", "te", "trailer", "http2-settings");
+
+    private final ClusterMembership clusterMembership;
+    private final ObjectMapper objectMapper;
+    private final boolean redirect;
+    private final Duration forwardTimeout;
+    private final HttpClient httpClient;
+
+    public RoomRoutingFilter(ClusterMembership clusterMembership, ObjectMapper objectMapper,
+            boolean redirect, Duration forwardTimeout) {
+        this.clusterMembership = clusterMembership;
+        this.objectMapper = objectMapper;
+        this.redirect = redirect;
+        this.forwardTimeout = forwardTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!clusterMembership.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest routed = request;
+        String roomId = null;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = ROOM_PATH.matcher(path);
+        if (matcher.matches()) {
+            roomId = matcher.group(1);
+        } else if (JOIN_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            routed = cached;
+            roomId = joinRoomId(cached.body);
+        }
+
+        if (roomId == null || clusterMembership.isLocal(roomId)) {
+            chain.doFilter(routed, response);
+            return;
+        }
+
+        if (request.getHeader(FORWARDED_BY_HEADER) != null || hasRedirectMarker(request.getQueryString())) {
+            unavailable(response);
+            return;
+        }
+
+        String query = request.getQueryString();
+        String target = clusterMembership.ownerOf(roomId) + request.getRequestURI() + (query != null ? "?" + query : "");
+        if (redirect) {
+            String marker = REDIRECTED_BY_PARAM + "=" + URLEncoder.encode(clusterMembership.getSelfUrl(),
+                    StandardCharsets.UTF_8);
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader(HttpHeaders.LOCATION, target + (query != null ? "&" : "?") + marker);
+            return;
+        }
+        forward(routed, response, target);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    // From the query string only: getParameter would read a form body that forward() still has to send
+    private static boolean hasRedirectMarker(String query) {
+        if (query == null) {
+            return false;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if ((eq < 0 ? pair : pair.substring(0, eq)).equals(REDIRECTED_BY_PARAM)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String target)
+            throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target)).timeout(forwardTimeout);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!UNFORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.header(name, value);
+                }
+            }
+        }
+        builder.header(FORWARDED_BY_HEADER, clusterMembership.getSelfUrl());
+
+        // Room API bodies are small JSON documents
+        byte[] body = request.getInputStream().readAllBytes();
+        builder.method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+
+        AsyncContext async = request.startAsync(request, response);
+        // Ended by the upstream response: its timeout, or the owner closing it
+        async.setTimeout(0);
+        ProxiedBody proxied = new ProxiedBody(async, response, target);
+        async.addListener(proxied);
+
+        httpClient.sendAsync(builder.build(), upstream -> {
+                    response.setStatus(upstream.statusCode());
+                    upstream.headers().map().forEach((name, values) -> {
+                        if (!name.startsWith(":") && !UNFORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                            values.forEach(value -> response.addHeader(name, value));
+                        }
+                    });
+                    return HttpResponse.BodySubscribers.fromSubscriber(proxied);
+                })
+                .whenComplete((upstream, failure) -> {
+                    if (failure != null && !response.isCommitted()) {
+                        log.warn("Forwarding to {} failed: {}", target, failure.getMessage());
+                        unavailable(response);
+                    }
+                    proxied.complete();
+                });
+    }
+
+    private static void unavailable(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    private String joinRoomId(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("roomId").asText(null);
+        } catch (IOException e) {
+            // Served locally, where validation reports the bad body
+            return null;
+        }
+    }
+
+    // Copies the owner's response body to the client chunk by chunk, and stops
+    // the upstream exchange once the client is gone
+    private static class ProxiedBody implements Flow.Subscriber<List<ByteBuffer>>, AsyncListener {
+
+        private final AsyncContext async;
+        private final HttpServletResponse response;
+        private final String target;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        ProxiedBody(AsyncContext async, HttpServletResponse response, String target) {
+            this.async = async;
+            this.response = response;
+            this.target = target;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (completed.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> chunks) {
+            try {
+                OutputStream out = response.getOutputStream();
+                for (ByteBuffer chunk : chunks) {
+                    byte[] bytes = new byte[chunk.remaining()];
+                    chunk.get(bytes);
+                    out.write(bytes);
+                }
+                out.flush();
+                subscription.request(1);
+            } catch (IOException e) {
+                // The client went away, e.g. a closed EventSource
+                log.debug("Client of forwarded request to {} disconnected: {}", target, e.getMessage());
+                subscription.cancel();
+                complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            // Reported by the sendAsync completion
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void complete() {
+            if (completed.compareAndSet(false, true)) {
+                async.complete();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            completed.set(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            onError(event);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completed.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    // Lets the join body be read here and again by the controller
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
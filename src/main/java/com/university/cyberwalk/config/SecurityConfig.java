@@ -1,35 +1,75 @@
 package com.university.cyberwalk.config;
 
+import com.university.cyberwalk.service.AuthTokenService;
 import com.university.cyberwalk.service.CustomUserDetailsService;
+import com.university.cyberwalk.service.UserDetailsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+        private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+        // Bounds for the calibrated BCrypt cost
+        private static final int MIN_BCRYPT_STRENGTH = 4;
+        private static final int MAX_BCRYPT_STRENGTH = 14;
+
         @Autowired
         private CustomUserDetailsService userDetailsService;
 
+        @Autowired
+        private UserDetailsCache userDetailsCache;
+
+        @Autowired
+        private AuthTokenService authTokenService;
+
+        @Value("${cyberwalk.security.bcrypt-strength:10}")
+        private int bcryptStrength;
+
+        @Value("${cyberwalk.security.bcrypt-target-ms:0}")
+        private long bcryptTargetMillis;
+
+        // New hashes are stored as {bcrypt}... with the configured cost. Hashes
+        // without a prefix (written before this encoder) still match, and any
+        // outdated hash is re-encoded on the user's next successful login.
         @Bean
         public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+                int strength = bcryptTargetMillis > 0 ? calibrateBcryptStrength(bcryptTargetMillis) : bcryptStrength;
+                BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+                DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+                encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+                return encoder;
         }
 
         @Bean
         public DaoAuthenticationProvider authenticationProvider() {
                 DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
                 authProvider.setUserDetailsService(userDetailsService);
+                authProvider.setUserDetailsPasswordService(userDetailsService);
+                authProvider.setUserCache(userDetailsCache);
                 authProvider.setPasswordEncoder(passwordEncoder());
                 return authProvider;
         }
@@ -53,6 +93,10 @@ public class SecurityConfig {
                                                 .permitAll()
                                                 // APIs
                                                 .requestMatchers("/api/auth/**").permitAll() // Signup API
+                                                // Metrics scraping and health checks
+                                                .requestMatchers("/actuator/health", "/actuator/prometheus")
+                                                .permitAll()
+                                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                                 // Admin Console
                                                 .requestMatchers("/h2-console/**").hasRole("ADMIN")
                                                 // Protect everything else (including index.html / dashboard)
@@ -71,6 +115,45 @@ public class SecurityConfig {
                                 .csrf(csrf -> csrf.ignoringRequestMatchers("/h2-console/**", "/api/**", "/login"))
                                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
 
+                // Stateless mode (cyberwalk.security.stateless): no HttpSession is
+                // created; login issues a signed token that any node can verify
+                if (authTokenService.isEnabled()) {
+                        http
+                                        .sessionManagement(session -> session
+                                                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                        .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                                        .addFilterBefore(new TokenAuthenticationFilter(authTokenService),
+                                                        UsernamePasswordAuthenticationFilter.class)
+                                        .formLogin(form -> form.successHandler(tokenLoginSuccessHandler()))
+                                        .logout(logout -> logout.deleteCookies(AuthTokenService.COOKIE_NAME));
+                }
+
                 return http.build();
         }
+
+        // Form login in stateless mode: hand the token over as a cookie instead
+        // of storing the authentication in the session
+        private AuthenticationSuccessHandler tokenLoginSuccessHandler() {
+                return (request, response, authentication) -> {
+                        response.addHeader(HttpHeaders.SET_COOKIE,
+                                        authTokenService.cookie(authTokenService.issue(authentication)).toString());
+                        response.sendRedirect(request.getContextPath() + "/index.html");
+                };
+        }
+
+        // Highest cost whose hash takes at most targetMillis on this machine;
+        // each step of the cost doubles the work
+        private static int calibrateBcryptStrength(long targetMillis) {
+                int probe = 8;
+                new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH).encode("warm-up");
+                long start = System.nanoTime();
+                new BCryptPasswordEncoder(probe).encode("calibration");
+                double probeMillis = Math.max((System.nanoTime() - start) / 1_000_000.0, 0.1);
+
+                int strength = probe + (int) Math.floor(Math.log(targetMillis / probeMillis) / Math.log(2));
+                strength = Math.max(MIN_BCRYPT_STRENGTH, Math.min(MAX_BCRYPT_STRENGTH, strength));
+                log.info("BCrypt cost {} chosen for a {} ms target ({} ms at cost {})",
+                                strength, targetMillis, String.format("%.1f", probeMillis), probe);
+                return strength;
+        }
 }
@@ -0,0 +1,81 @@
+package com.university.cyberwalk.config;
+
+import com.university.cyberwalk.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stateless mode: authenticates each request from the signed token in the
+ * CW_TOKEN cookie or an "Authorization: Bearer" header. Cookies past half
+ * their lifetime are re-issued so active players are not logged out
+ * mid-game.
+ *
+ * Registered by SecurityConfig only, not as a bean, so it never runs outside
+ * the security filter chain. It also runs on async dispatches: with no
+ * session to restore the context from, a completed long-poll or SSE request
+ * would otherwise be dispatched back anonymous and denied.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthTokenService authTokenService;
+
+    public TokenAuthenticationFilter(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean bearer = header != null && header.startsWith(BEARER_PREFIX);
+        String token = bearer ? header.substring(BEARER_PREFIX.length()) : cookieToken(request);
+
+        authTokenService.verify(token).ifPresent(verified -> {
+            UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    verified.user(), null, verified.user().getAuthorities());
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+
+            Duration remaining = Duration.between(Instant.now(), verified.expiresAt());
+            if (!bearer && !isAsyncDispatch(request) && remaining.compareTo(authTokenService.getTtl().dividedBy(2)) < 0) {
+                response.addHeader(HttpHeaders.SET_COOKIE,
+                        authTokenService.cookie(authTokenService.issue(authentication)).toString());
+            }
+        });
+
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private static String cookieToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (AuthTokenService.COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,13 +1,33 @@
 package com.university.cyberwalk.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cyberwalk.service.ClusterMembership;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cyberwalk.cluster.routing:forward}")
+    private String routing;
+
+    @Value("${cyberwalk.cluster.forward-timeout:35s}")
+    private Duration forwardTimeout;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -18,12 +38,21 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve video files from the static resources directory
-        registry.addResourceHandler("/video/**")
-                .addResourceLocations("classpath:/static/video/");
+        // Videos under /video/** are served by VideoStreamController (range requests)
 
         // Serve static frontend files
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/");
     }
+
+    // Room requests for rooms owned by another node (cluster mode only);
+    // runs after Spring Security, so only authenticated requests are routed
+    @Bean
+    public FilterRegistrationBean<RoomRoutingFilter> roomRoutingFilter() {
+        FilterRegistrationBean<RoomRoutingFilter> registration = new FilterRegistrationBean<>(
+                new RoomRoutingFilter(clusterMembership, objectMapper, "redirect".equalsIgnoreCase(routing),
+                        forwardTimeout));
+        registration.addUrlPatterns("/api/game/*", "/api/room/*");
+        return registration;
+    }
 }
@@ -3,12 +3,22 @@ package com.university.cyberwalk.controller;
 import com.university.cyberwalk.dto.UserDto;
 import com.university.cyberwalk.model.User;
 import com.university.cyberwalk.repository.UserRepository;
+import com.university.cyberwalk.service.AuthTokenService;
+import com.university.cyberwalk.service.UserDetailsCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -20,6 +30,15 @@ public class AuthController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserDto userDto) {
         if (userRepository.existsByUsername(userDto.getUsername())) {
@@ -32,7 +51,29 @@ public class AuthController {
                 "USER");
 
         userRepository.save(user);
+        userDetailsCache.removeUserFromCache(user.getUsername());
 
         return ResponseEntity.ok("User registered successfully!");
     }
+
+    // Bearer token for API clients in stateless mode; browsers get the same
+    // token as a cookie from the /login form
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(@Valid @RequestBody UserDto userDto) {
+        if (!authTokenService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(userDto.getUsername(), userDto.getPassword()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Invalid username or password");
+        }
+
+        String token = authTokenService.issue(authentication);
+        Instant expiresAt = authTokenService.verify(token).orElseThrow().expiresAt();
+        return ResponseEntity.ok(Map.of("token", token, "expiresAt", expiresAt.toString()));
+    }
 }
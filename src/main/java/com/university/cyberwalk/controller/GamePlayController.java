@@ -3,9 +3,16 @@ package com.university.cyberwalk.controller;
 import com.university.cyberwalk.dto.*;
 import com.university.cyberwalk.model.GameRoom;
 import com.university.cyberwalk.service.GamePlayService;
+import com.university.cyberwalk.service.GameStateBroadcaster;
+import com.university.cyberwalk.service.GameStateLongPoller;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -18,11 +25,41 @@ public class GamePlayController {
     @Autowired
     private GamePlayService gamePlayService;
 
+    @Autowired
+    private GameStateBroadcaster gameStateBroadcaster;
+
+    @Autowired
+    private GameStateLongPoller gameStateLongPoller;
+
     // ========== GAME STATE ENDPOINTS ==========
 
+    // Conditional GET: unchanged polls get 304 without rebuilding the state.
+    // The tag is read before the state, so it can only ever lag the body.
     @GetMapping("/{roomId}/state")
-    public ResponseEntity<GameStateDto> getGameState(@PathVariable String roomId) {
-        return ResponseEntity.ok(gamePlayService.getGameState(roomId));
+    public ResponseEntity<GameStateDto> getGameState(
+            @PathVariable String roomId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"" + gamePlayService.getGameStateTag(roomId) + "\"";
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(gamePlayService.getGameState(roomId));
+    }
+
+    // Long-poll variant: parks until the room's state moves past the given tag
+    // (the ETag of the client's last response) or the poll times out with 304.
+    @GetMapping(value = "/{roomId}/state", params = "after")
+    public DeferredResult<ResponseEntity<GameStateDto>> awaitGameState(
+            @PathVariable String roomId,
+            @RequestParam("after") String after) {
+        return gameStateLongPoller.awaitChange(roomId, after);
+    }
+
+    // Push channel: emits a GameStateDto whenever a game action commits.
+    // Clients fall back to polling /state if the stream cannot be opened.
+    @GetMapping(value = "/{roomId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGameState(@PathVariable String roomId) {
+        return gameStateBroadcaster.subscribe(roomId);
     }
 
     @PostMapping("/{roomId}/start")
@@ -76,6 +113,14 @@ public class GamePlayController {
         return ResponseEntity.ok(gamePlayService.continueToNextRound(roomId));
     }
 
+    // ========== MATCH HISTORY ==========
+
+    // Replay of every move made in the room, from the match event log
+    @GetMapping("/{roomId}/events")
+    public ResponseEntity<List<MatchEvent>> getMatchHistory(@PathVariable String roomId) {
+        return ResponseEntity.ok(gamePlayService.getMatchHistory(roomId));
+    }
+
     // ========== DATA QUERIES ==========
 
     @GetMapping("/levels")
@@ -102,4 +147,22 @@ public class GamePlayController {
     public ResponseEntity<List<DefenderChoiceDto>> getDefenderChoices(@PathVariable Long optionId) {
         return ResponseEntity.ok(gamePlayService.getDefenderChoices(optionId));
     }
+
+    // ========== HELPER METHODS ==========
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
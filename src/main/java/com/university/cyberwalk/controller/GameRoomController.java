@@ -1,8 +1,10 @@
 package com.university.cyberwalk.controller;
 
+import com.university.cyberwalk.dto.RoomLifecycleStats;
 import com.university.cyberwalk.dto.RoomRequests;
 import com.university.cyberwalk.model.GameRoom;
 import com.university.cyberwalk.service.GameRoomService;
+import com.university.cyberwalk.service.RoomLifecycleManager;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,9 @@ public class GameRoomController {
     @Autowired
     private GameRoomService gameRoomService;
 
+    @Autowired
+    private RoomLifecycleManager roomLifecycleManager;
+
     @PostMapping("/create")
     public ResponseEntity<GameRoom> createRoom() {
         return ResponseEntity.ok(gameRoomService.createRoom());
@@ -43,6 +48,11 @@ public class GameRoomController {
         return ResponseEntity.ok(gameRoomService.processAction(roomId, request.getOptionId()));
     }
 
+    @GetMapping("/lifecycle")
+    public ResponseEntity<RoomLifecycleStats> getLifecycleStats() {
+        return ResponseEntity.ok(roomLifecycleManager.getStats());
+    }
+
     @PutMapping("/{roomId}/video/{videoId}")
     public ResponseEntity<GameRoom> updateVideo(@PathVariable String roomId, @PathVariable String videoId) {
         return ResponseEntity.ok(gameRoomService.updateCurrentVideo(roomId, videoId));
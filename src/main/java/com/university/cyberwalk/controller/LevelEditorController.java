@@ -3,9 +3,14 @@ package com.university.cyberwalk.controller;
 import com.university.cyberwalk.dto.*;
 import com.university.cyberwalk.service.LevelEditorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -49,6 +54,30 @@ public class LevelEditorController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<LevelDto> cloneLevel(@PathVariable Long id) {
+        return ResponseEntity.ok(levelEditorService.cloneLevel(id));
+    }
+
+    // ========== BULK IMPORT / EXPORT ENDPOINTS ==========
+
+    // Whole level trees as a content bundle; both directions are streamed so
+    // large levels never have to fit in memory as one document
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLevels(
+            @RequestParam(value = "ids", required = false) List<Long> ids) {
+        StreamingResponseBody body = out -> levelEditorService.exportLevels(ids, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"levels.json\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<LevelDto>> importLevels(InputStream body) throws IOException {
+        return ResponseEntity.ok(levelEditorService.importLevels(body));
+    }
+
     // ========== DEFENDER PROFILE ENDPOINTS ==========
 
     @PostMapping("/{levelId}/defender-profiles")
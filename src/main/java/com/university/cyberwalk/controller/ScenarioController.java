@@ -1,5 +1,6 @@
 package com.university.cyberwalk.controller;
 
+import com.university.cyberwalk.dto.PrefetchManifest;
 import com.university.cyberwalk.dto.ScenarioResponse;
 import com.university.cyberwalk.service.ScenarioService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,11 @@ public class ScenarioController {
         ScenarioResponse response = scenarioService.getScenarioByVideoId(videoId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{videoId}/prefetch")
+    public ResponseEntity<PrefetchManifest> getPrefetchManifest(@PathVariable String videoId) {
+        return ResponseEntity.ok(scenarioService.getPrefetchManifest(videoId));
+    }
     
     @GetMapping
     public ResponseEntity<List<ScenarioResponse>> getAllScenarios() {
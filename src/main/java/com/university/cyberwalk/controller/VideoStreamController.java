@@ -0,0 +1,164 @@
+package com.university.cyberwalk.controller;
+
+import com.university.cyberwalk.service.VideoStreamService;
+import com.university.cyberwalk.service.VideoStreamService.VideoFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class VideoStreamController {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoStreamController.class);
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private VideoStreamService videoStreamService;
+
+    // ========== VIDEO STREAMING ==========
+
+    // Serves Scenario.videoPath (/video/{file}). Seeking sends a Range request
+    // and only that slice is transferred; open-ended ranges are capped at
+    // cyberwalk.video.max-chunk-bytes so the player asks for the rest lazily.
+    @GetMapping("/video/{fileName:.+}")
+    public void streamVideo(
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Optional<VideoFile> resolved = videoStreamService.resolve(fileName);
+        if (resolved.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        VideoFile video = resolved.get();
+        long length = video.length();
+        String etag = video.etag();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, video.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400");
+
+        if (matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeStillValid(request, video)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (!ranges.isEmpty()) {
+                    // Players only ever ask for one range; multipart/byteranges is not worth supporting
+                    HttpRange range = ranges.get(0);
+                    start = range.getRangeStart(length);
+                    end = Math.min(range.getRangeEnd(length), start + videoStreamService.getMaxChunkBytes() - 1);
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        // Tomcat's NIO connector can hand the file to the kernel after this
+        // thread returns, so no worker thread is held for the transfer. The
+        // stream permits only guard worker threads, and the servlet API has no
+        // hook for the end of a sendfile transfer, so sendfile takes none.
+        boolean sendfile = video.path() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+        if (!sendfile && !videoStreamService.tryAcquireStream()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent video streams");
+            return;
+        }
+
+        try {
+            long contentLength = end - start + 1;
+            response.setStatus(partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK);
+            response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setContentLengthLong(contentLength);
+            if (partial) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+
+            if (contentLength == 0 || "HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            if (sendfile) {
+                request.setAttribute(SENDFILE_FILENAME, video.path().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            videoStreamService.copyRange(video, start, contentLength, response.getOutputStream());
+        } catch (IOException e) {
+            // Seeking aborts the in-flight request; that is expected, not an error
+            log.debug("Video stream of {} ended early: {}", fileName, e.getMessage());
+        } finally {
+            if (!sendfile) {
+                videoStreamService.releaseStream();
+            }
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    // If-Range: only honour the Range header while the client's copy is still
+    // current, otherwise send the whole (new) file
+    private boolean rangeStillValid(HttpServletRequest request, VideoFile video) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(video.etag());
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return since >= 0 && video.lastModified() / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
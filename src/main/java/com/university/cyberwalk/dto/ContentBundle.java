@@ -0,0 +1,15 @@
+package com.university.cyberwalk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBundle {
+    private int formatVersion = 1;
+    private List<LevelDto> levels; // Full level trees, same shape as GET /api/levels/{id}; ids are ignored on import
+}
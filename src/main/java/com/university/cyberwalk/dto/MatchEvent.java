@@ -0,0 +1,41 @@
+package com.university.cyberwalk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One move in a room's match history, as recorded by MatchEventLog. Scores
+ * are the totals after the move; score deltas are only set on
+ * DEFENDER_CHOSE. Room codes are reused once a room is archived, so a room
+ * is identified by its code together with roomCreatedAt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchEvent {
+
+    // Stored by ordinal in the log segments: only ever append new types
+    public enum Type {
+        GAME_STARTED,
+        LEVEL_SELECTED, // subjectId: level
+        PROFILE_SELECTED, // subjectId: defender profile
+        SCENARIO_SELECTED, // subjectId: attack scenario
+        ATTACK_LAUNCHED, // subjectId: attack option
+        DEFENDER_CHOSE, // subjectId: defender choice
+        GAME_OVER
+    }
+
+    private String roomId;
+    private Instant roomCreatedAt;
+    private Type type;
+    private Instant occurredAt;
+    private Long subjectId;
+    private int defenderScoreDelta;
+    private int attackerScoreDelta;
+    private int attackerScore;
+    private int defenderScore;
+    private int attacksPerformed;
+}
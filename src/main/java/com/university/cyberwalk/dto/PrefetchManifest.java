@@ -0,0 +1,26 @@
+package com.university.cyberwalk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrefetchManifest {
+    private String videoId;
+    private List<Entry> entries; // Ordered by priority, most likely next clip first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String videoId;
+        private String videoPath;
+        private Long sizeBytes; // null if the file is not available on this node
+        private int priority; // 1 = reachable by the next choice, 2 = the scene after that
+        private String via; // "option" or "next"
+    }
+}
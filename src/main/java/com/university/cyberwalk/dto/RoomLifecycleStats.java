@@ -0,0 +1,17 @@
+package com.university.cyberwalk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomLifecycleStats {
+    private long activeRooms; // Held in memory by RoomStateEngine
+    private long idleRooms; // In game_rooms but evicted from memory
+    private long archivedRooms; // Moved to game_room_history
+    private LocalDateTime lastSweepAt;
+}
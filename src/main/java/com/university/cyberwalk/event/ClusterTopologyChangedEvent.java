@@ -0,0 +1,25 @@
+package com.university.cyberwalk.event;
+
+import com.university.cyberwalk.service.RoomOwnership;
+
+/**
+ * Published by ClusterMembership whenever room ownership changes: the set of
+ * live nodes changed, or a handover of rooms from another node ended. Room
+ * owners hand off rooms that now belong to another node.
+ */
+public class ClusterTopologyChangedEvent {
+
+    private final RoomOwnership ownership;
+
+    public ClusterTopologyChangedEvent(RoomOwnership ownership) {
+        this.ownership = ownership;
+    }
+
+    public RoomOwnership getOwnership() {
+        return ownership;
+    }
+
+    public boolean isLocal(String roomId) {
+        return ownership.isLocal(roomId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.university.cyberwalk.event;
+
+/**
+ * Published by LevelEditorService whenever level content (levels, profiles,
+ * scenarios, options or choices) is created, updated or deleted, so cached
+ * read models can be rebuilt after the editor's transaction commits.
+ */
+public class ContentChangedEvent {
+
+    private final String source;
+
+    public ContentChangedEvent(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,20 @@
+package com.university.cyberwalk.event;
+
+/**
+ * Published by RoomStateEngine whenever an action has been applied to a
+ * room, whichever service made it. Listeners that push state to clients
+ * should react after commit so they never broadcast a state that was rolled
+ * back.
+ */
+public class GameStateChangedEvent {
+
+    private final String roomId;
+
+    public GameStateChangedEvent(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+}
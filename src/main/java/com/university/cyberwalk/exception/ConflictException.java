@@ -0,0 +1,12 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * The request is valid but does not fit the room's current state, e.g. a
+ * role that is already taken. Answered with 409 Conflict.
+ */
+public class ConflictException extends GameException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
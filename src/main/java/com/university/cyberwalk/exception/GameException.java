@@ -0,0 +1,18 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * Base class for requests the game rejects: unknown ids, actions out of turn
+ * or phase, conflicting joins. Mapped to 4xx/5xx responses by
+ * {@link GlobalExceptionHandler}.
+ *
+ * These are expected outcomes of client input (stale room ids, double
+ * clicks), not bugs, so they carry no stack trace and cannot have suppressed
+ * exceptions. That makes them cheap to throw and lets messages that never
+ * change be thrown as shared, preallocated instances.
+ */
+public class GameException extends RuntimeException {
+
+    public GameException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,5 +1,6 @@
 package com.university.cyberwalk.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,4 +24,32 @@ public class GlobalExceptionHandler {
         });
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    // ========== GAME ERRORS ==========
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(NotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, ex);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ConflictException ex) {
+        return error(HttpStatus.CONFLICT, ex);
+    }
+
+    @ExceptionHandler(RoomBusyException.class)
+    public ResponseEntity<Map<String, String>> handleRoomBusy(RoomBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(GameException.class)
+    public ResponseEntity<Map<String, String>> handleGameException(GameException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex);
+    }
+
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, GameException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), status);
+    }
 }
@@ -0,0 +1,12 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * An action that is not allowed in the room's current phase or status,
+ * typically a repeated click that another request already applied.
+ */
+public class InvalidPhaseException extends ConflictException {
+
+    public InvalidPhaseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * A room, session or piece of content that does not exist. Answered with
+ * 404 Not Found.
+ */
+public class NotFoundException extends GameException {
+
+    // Thrown on every poll of a stale room id, so it is never re-created
+    public static final NotFoundException ROOM = new NotFoundException("Room not found");
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * Too many concurrent actions on one room to apply this one; the client
+ * should retry. Answered with 503 Service Unavailable and Retry-After.
+ */
+public class RoomBusyException extends GameException {
+
+    public static final RoomBusyException INSTANCE = new RoomBusyException();
+
+    private RoomBusyException() {
+        super("Room is busy, please retry");
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.cyberwalk.exception;
+
+/**
+ * An attacker action during the defender's turn or vice versa.
+ */
+public class WrongTurnException extends ConflictException {
+
+    public static final WrongTurnException NOT_ATTACKER_TURN = new WrongTurnException("Not attacker's turn");
+    public static final WrongTurnException NOT_DEFENDER_TURN = new WrongTurnException("Not defender's turn");
+
+    private WrongTurnException(String message) {
+        super(message);
+    }
+}
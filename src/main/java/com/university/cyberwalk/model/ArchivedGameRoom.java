@@ -0,0 +1,45 @@
+package com.university.cyberwalk.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact record of a finished or abandoned GameRoom, written by
+ * RoomLifecycleManager when the room is removed from game_rooms.
+ */
+@Entity
+@Table(name = "game_room_history", indexes = @Index(name = "idx_game_room_history_room_id", columnList = "roomId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedGameRoom {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String roomId; // Not unique: room codes are reused once a room is archived
+
+    @Enumerated(EnumType.STRING)
+    private GameRoom.RoomStatus finalStatus;
+
+    @Enumerated(EnumType.STRING)
+    private GameRoom.GamePhase finalPhase;
+
+    private Long levelId;
+    private String levelName;
+
+    private int attackerScore;
+    private int defenderScore;
+    private int attacksPerformed;
+    private int roundsPlayed;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivityAt;
+    private LocalDateTime archivedAt;
+}
@@ -2,6 +2,7 @@ package com.university.cyberwalk.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -38,11 +39,12 @@ public class AttackOption {
 
     private boolean isCriticalRisk = false; // If true, can lead to big win or big loss
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "attack_scenario_id")
     @JsonIgnore
     private AttackScenario attackScenario;
 
-    @OneToMany(mappedBy = "attackOption", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "attackOption", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<DefenderChoice> defenderChoices = new ArrayList<>();
 }
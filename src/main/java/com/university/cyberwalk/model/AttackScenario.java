@@ -2,6 +2,7 @@ package com.university.cyberwalk.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -32,11 +33,12 @@ public class AttackScenario {
     @Column(length = 1000)
     private String attackerNarrative; // What the attacker sees/thinks
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "level_id")
     @JsonIgnore
     private Level level;
 
-    @OneToMany(mappedBy = "attackScenario", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "attackScenario", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<AttackOption> attackOptions = new ArrayList<>();
 }
@@ -0,0 +1,25 @@
+package com.university.cyberwalk.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A game server taking part in room routing. Each node refreshes its own row
+ * on every heartbeat; rows that stop being refreshed drop out of the ring.
+ */
+@Entity
+@Table(name = "cluster_nodes")
+@Data
+@NoArgsConstructor
+public class ClusterNode {
+
+    @Id
+    private String nodeUrl; // Base URL other nodes forward to, e.g. http://localhost:8081
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime lastHeartbeatAt;
+}
@@ -36,7 +36,7 @@ public class DefenderChoice {
     @Column(length = 1000)
     private String educationalNote; // Teaching moment - explains why this is good/bad
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "attack_option_id")
     @JsonIgnore
     private AttackOption attackOption;
@@ -39,7 +39,7 @@ public class DefenderProfile {
 
     private String financialStatus; // STABLE, STRUGGLING, WEALTHY
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "level_id")
     @JsonIgnore
     private Level level;
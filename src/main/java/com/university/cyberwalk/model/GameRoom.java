@@ -1,12 +1,15 @@
 package com.university.cyberwalk.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "game_rooms")
+@Table(name = "game_rooms", indexes = @Index(name = "idx_game_rooms_last_activity", columnList = "lastActivityAt"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,6 +22,22 @@ public class GameRoom {
     @Column(unique = true, nullable = false)
     private String roomId;
 
+    // Optimistic lock for RoomStateEngine's write-behind flushes; the default
+    // backfills rows created before the column existed
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private long version;
+
+    // In-memory change counter maintained by RoomStateEngine; drives the ETag of
+    // /api/game/{roomId}/state and is never persisted
+    @Transient
+    @JsonIgnore
+    private long stateVersion;
+
+    // Maintained by RoomStateEngine; RoomLifecycleManager evicts and archives by it
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivityAt;
+
     private String attackerSessionId; // Session ID of the attacker
     private String defenderSessionId; // Session ID of the defender
 
@@ -39,6 +58,11 @@ public class GameRoom {
     private Long currentAttackScenarioId;
     private Long currentAttackOptionId;
 
+    // Level rules snapshotted at selectLevel so the turn path never re-reads the
+    // level, and editor changes don't alter a match already in progress
+    private String currentLevelName;
+    private Integer currentLevelMaxAttacks;
+
     // Game phase tracking
     @Enumerated(EnumType.STRING)
     private GamePhase gamePhase = GamePhase.LEVEL_SELECT;
@@ -0,0 +1,12 @@
+package com.university.cyberwalk.repository;
+
+import com.university.cyberwalk.model.ArchivedGameRoom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedGameRoomRepository extends JpaRepository<ArchivedGameRoom, Long> {
+    List<ArchivedGameRoom> findByRoomIdOrderByArchivedAtDesc(String roomId);
+}
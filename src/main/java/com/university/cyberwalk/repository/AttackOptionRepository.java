@@ -2,6 +2,8 @@ package com.university.cyberwalk.repository;
 
 import com.university.cyberwalk.model.AttackOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,11 @@ import java.util.List;
 @Repository
 public interface AttackOptionRepository extends JpaRepository<AttackOption, Long> {
     List<AttackOption> findByAttackScenarioId(Long attackScenarioId);
+
+    @Query("select distinct o from AttackOption o left join fetch o.defenderChoices where o.attackScenario.level.id = :levelId")
+    List<AttackOption> findWithDefenderChoicesByLevelId(@Param("levelId") Long levelId);
+
+    // Export order: grouped by scenario, matching DefenderChoiceRepository.streamByLevelId
+    @Query("select o from AttackOption o where o.attackScenario.level.id = :levelId order by o.attackScenario.id, o.id")
+    List<AttackOption> findByLevelIdOrderByScenarioAndId(@Param("levelId") Long levelId);
 }
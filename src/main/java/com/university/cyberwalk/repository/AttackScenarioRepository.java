@@ -2,6 +2,8 @@ package com.university.cyberwalk.repository;
 
 import com.university.cyberwalk.model.AttackScenario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,9 @@ import java.util.List;
 @Repository
 public interface AttackScenarioRepository extends JpaRepository<AttackScenario, Long> {
     List<AttackScenario> findByLevelId(Long levelId);
+
+    List<AttackScenario> findByLevelIdOrderByIdAsc(Long levelId);
+
+    @Query("select distinct s from AttackScenario s left join fetch s.attackOptions where s.level.id = :levelId")
+    List<AttackScenario> findWithAttackOptionsByLevelId(@Param("levelId") Long levelId);
 }
@@ -1,12 +1,23 @@
 package com.university.cyberwalk.repository;
 
 import com.university.cyberwalk.model.DefenderChoice;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DefenderChoiceRepository extends JpaRepository<DefenderChoice, Long> {
     List<DefenderChoice> findByAttackOptionId(Long attackOptionId);
+
+    // Streamed for level export; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select c from DefenderChoice c where c.attackOption.attackScenario.level.id = :levelId "
+            + "order by c.attackOption.attackScenario.id, c.attackOption.id, c.id")
+    Stream<DefenderChoice> streamByLevelId(@Param("levelId") Long levelId);
 }
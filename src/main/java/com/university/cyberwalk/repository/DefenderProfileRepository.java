@@ -9,4 +9,6 @@ import java.util.List;
 @Repository
 public interface DefenderProfileRepository extends JpaRepository<DefenderProfile, Long> {
     List<DefenderProfile> findByLevelId(Long levelId);
+
+    List<DefenderProfile> findByLevelIdOrderByIdAsc(Long levelId);
 }
@@ -1,12 +1,33 @@
 package com.university.cyberwalk.repository;
 
 import com.university.cyberwalk.model.GameRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GameRoomRepository extends JpaRepository<GameRoom, Long> {
     Optional<GameRoom> findByRoomId(String roomId);
+
+    @Query("select r.roomId from GameRoom r")
+    List<String> findAllRoomIds();
+
+    // Finished rooms idle since finishedBefore, and any room idle since
+    // abandonedBefore; keyset-paged by id so skipped rows are never re-read
+    @Query("select r from GameRoom r where r.id > :afterId and ("
+            + "r.lastActivityAt is null or r.lastActivityAt < :abandonedBefore "
+            + "or ((r.status = :finishedStatus or r.gamePhase = :finishedPhase) and r.lastActivityAt < :finishedBefore)) "
+            + "order by r.id")
+    List<GameRoom> findArchivable(@Param("afterId") Long afterId,
+            @Param("finishedStatus") GameRoom.RoomStatus finishedStatus,
+            @Param("finishedPhase") GameRoom.GamePhase finishedPhase,
+            @Param("finishedBefore") LocalDateTime finishedBefore,
+            @Param("abandonedBefore") LocalDateTime abandonedBefore,
+            Pageable pageable);
 }
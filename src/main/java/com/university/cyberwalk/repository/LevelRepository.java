@@ -2,13 +2,24 @@ package com.university.cyberwalk.repository;
 
 import com.university.cyberwalk.model.Level;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LevelRepository extends JpaRepository<Level, Long> {
     List<Level> findByEnabledTrueOrderByOrderIndexAsc();
 
     List<Level> findAllByOrderByOrderIndexAsc();
+
+    // Full-tree fetch plan for the editor. The collections are bags, so each one
+    // is join-fetched by its own query into the same persistence context.
+    @Query("select distinct l from Level l left join fetch l.defenderProfiles where l.id = :id")
+    Optional<Level> findWithDefenderProfilesById(@Param("id") Long id);
+
+    @Query("select distinct l from Level l left join fetch l.attackScenarios where l.id = :id")
+    Optional<Level> findWithAttackScenariosById(@Param("id") Long id);
 }
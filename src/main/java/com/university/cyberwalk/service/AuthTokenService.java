@@ -0,0 +1,157 @@
+package com.university.cyberwalk.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies the signed tokens used when cyberwalk.security.stateless
+ * is on. A token carries the username, authorities and expiry, signed with
+ * HMAC-SHA256:
+ *
+ *   base64url(username).authority,authority.expiresAtEpochSecond.base64url(signature)
+ *
+ * Verifying one needs only the shared secret, so every node accepts tokens
+ * issued by any other without a session or a database lookup. All nodes must
+ * be configured with the same cyberwalk.security.token-secret.
+ */
+@Service
+public class AuthTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenService.class);
+
+    public static final String COOKIE_NAME = "CW_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final SecretKeySpec key;
+
+    // Mac instances are not thread-safe and costly to look up
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public AuthTokenService(
+            @Value("${cyberwalk.security.stateless:false}") boolean enabled,
+            @Value("${cyberwalk.security.token-ttl:30m}") Duration ttl,
+            @Value("${cyberwalk.security.token-secret:}") String secret) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+            if (enabled) {
+                log.warn("cyberwalk.security.token-secret is not set; using a random key, so tokens "
+                        + "are not accepted by other nodes or after a restart");
+            }
+        } else {
+            secretBytes = Base64.getDecoder().decode(secret);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(Authentication authentication) {
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+
+        String payload = ENCODER.encodeToString(authentication.getName().getBytes(StandardCharsets.UTF_8))
+                + "." + authorities + "." + expiresAt;
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /** The token's user, if the signature is valid and it has not expired. */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        try {
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+
+            String[] fields = payload.split("\\.", -1);
+            if (fields.length != 3) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(fields[2]);
+            if (Instant.now().getEpochSecond() >= expiresAt) {
+                return Optional.empty();
+            }
+
+            UserDetails user = User.withUsername(new String(DECODER.decode(fields[0]), StandardCharsets.UTF_8))
+                    .password("")
+                    .authorities(AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1]))
+                    .build();
+            return Optional.of(new VerifiedToken(user, Instant.ofEpochSecond(expiresAt)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public ResponseCookie cookie(String token) {
+        return ResponseCookie.from(COOKIE_NAME, token)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(ttl)
+                .build();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public record VerifiedToken(UserDetails user, Instant expiresAt) {
+    }
+}
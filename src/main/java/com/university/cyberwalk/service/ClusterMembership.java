@@ -0,0 +1,170 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.event.ClusterTopologyChangedEvent;
+import com.university.cyberwalk.model.ClusterNode;
+import com.university.cyberwalk.repository.ClusterNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Room affinity across several game servers sharing one database
+ * (cyberwalk.cluster.enabled). Every node heartbeats its row in
+ * cluster_nodes; nodes whose heartbeat is older than
+ * cyberwalk.cluster.node-timeout are considered gone. The live nodes form a
+ * {@link HashRing} that assigns every roomId to exactly one owner, and a
+ * {@link ClusterTopologyChangedEvent} is published whenever that set changes.
+ * Rooms gained from a node that is still live only move after a handover
+ * period (see {@link RoomOwnership}), so two nodes never serve a room at
+ * the same time.
+ *
+ * Heartbeats are compared against each node's own clock, so the nodes' clocks
+ * must agree to well within the timeout.
+ *
+ * When disabled, this node owns every room.
+ */
+@Service
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    @Autowired
+    private ClusterNodeRepository clusterNodeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${cyberwalk.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cyberwalk.cluster.self-url:http://localhost:${server.port:8080}}")
+    private String selfUrl;
+
+    @Value("${cyberwalk.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${cyberwalk.cluster.node-timeout:10s}")
+    private Duration nodeTimeout;
+
+    @Value("${cyberwalk.security.stateless:false}")
+    private boolean stateless;
+
+    private volatile RoomOwnership ownership;
+
+    @PostConstruct
+    void checkConfiguration() {
+        ownership = new RoomOwnership(new HashRing(List.of(), 0), selfUrl);
+
+        // A container HttpSession only exists on the node that created it, so
+        // forwarded requests would arrive unauthenticated
+        if (enabled && !stateless) {
+            throw new IllegalStateException(
+                    "cyberwalk.cluster.enabled requires cyberwalk.security.stateless=true");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        heartbeat();
+    }
+
+    @Scheduled(initialDelayString = "${cyberwalk.cluster.heartbeat-interval-ms:2000}",
+            fixedDelayString = "${cyberwalk.cluster.heartbeat-interval-ms:2000}")
+    public synchronized void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ClusterNode self = clusterNodeRepository.findById(selfUrl).orElseGet(() -> {
+            ClusterNode node = new ClusterNode();
+            node.setNodeUrl(selfUrl);
+            node.setStartedAt(now);
+            return node;
+        });
+        self.setLastHeartbeatAt(now);
+        clusterNodeRepository.save(self);
+
+        Set<String> live = clusterNodeRepository.findByLastHeartbeatAtAfter(now.minus(nodeTimeout)).stream()
+                .map(ClusterNode::getNodeUrl)
+                .collect(Collectors.toCollection(TreeSet::new));
+        live.add(selfUrl);
+
+        RoomOwnership current = ownership;
+        if (!live.equals(current.getNodes())) {
+            ownership = new RoomOwnership(new HashRing(live, virtualNodes), selfUrl, handoverFrom(current, live),
+                    System.currentTimeMillis() + nodeTimeout.toMillis());
+            log.info("Cluster membership changed from {} to {}", current.getNodes(), live);
+            eventPublisher.publishEvent(new ClusterTopologyChangedEvent(ownership));
+        } else if (current.isHandoverOver(System.currentTimeMillis())) {
+            ownership = current.settled();
+            log.info("Handover finished, serving every room owned on the ring");
+            eventPublisher.publishEvent(new ClusterTopologyChangedEvent(ownership));
+        }
+    }
+
+    // Leave right away instead of waiting for the timeout, so the other
+    // nodes take over this node's rooms on their next heartbeat
+    @PreDestroy
+    public void leave() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            clusterNodeRepository.deleteById(selfUrl);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove {} from cluster_nodes: {}", selfUrl, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+
+    public Set<String> getNodes() {
+        return ownership.getNodes();
+    }
+
+    public String ownerOf(String roomId) {
+        return ownership.ownerOf(roomId);
+    }
+
+    public boolean isLocal(String roomId) {
+        return !enabled || ownership.isLocal(roomId);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    // The ring rooms are handed over from. A change during a handover keeps the
+    // original ring; on joining, it is the cluster as it was without this node.
+    private HashRing handoverFrom(RoomOwnership current, Set<String> live) {
+        if (current.isHandingOver()) {
+            return current.getPrevious();
+        }
+        if (!current.getRing().isEmpty()) {
+            return current.getRing();
+        }
+        Set<String> others = new TreeSet<>(live);
+        others.remove(selfUrl);
+        return new HashRing(others, virtualNodes);
+    }
+}
@@ -0,0 +1,104 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of all gameplay content:
+ * Level -> DefenderProfile / AttackScenario -> AttackOption -> DefenderChoice.
+ *
+ * Built in one pass by {@link ContentGraphCache} and replaced as a whole when
+ * content changes, so readers never see a half-updated graph.
+ */
+public final class ContentGraph {
+
+    private final long version;
+    private final long buildTimeMillis;
+
+    private final List<LevelDto> enabledLevels;
+    private final Map<Long, LevelDto> levels;
+    private final Map<Long, DefenderProfileDto> defenderProfiles;
+    private final Map<Long, AttackOptionDto> attackOptions;
+    private final Map<Long, DefenderChoiceDto> defenderChoices;
+
+    private final Map<Long, List<DefenderProfileDto>> profilesByLevel;
+    private final Map<Long, List<AttackScenarioDto>> scenariosByLevel;
+    private final Map<Long, List<AttackOptionDto>> optionsByScenario;
+    private final Map<Long, List<DefenderChoiceDto>> choicesByOption;
+
+    ContentGraph(long version,
+            long buildTimeMillis,
+            List<LevelDto> enabledLevels,
+            Map<Long, LevelDto> levels,
+            Map<Long, DefenderProfileDto> defenderProfiles,
+            Map<Long, AttackOptionDto> attackOptions,
+            Map<Long, DefenderChoiceDto> defenderChoices,
+            Map<Long, List<DefenderProfileDto>> profilesByLevel,
+            Map<Long, List<AttackScenarioDto>> scenariosByLevel,
+            Map<Long, List<AttackOptionDto>> optionsByScenario,
+            Map<Long, List<DefenderChoiceDto>> choicesByOption) {
+        this.version = version;
+        this.buildTimeMillis = buildTimeMillis;
+        this.enabledLevels = Collections.unmodifiableList(enabledLevels);
+        this.levels = Collections.unmodifiableMap(levels);
+        this.defenderProfiles = Collections.unmodifiableMap(defenderProfiles);
+        this.attackOptions = Collections.unmodifiableMap(attackOptions);
+        this.defenderChoices = Collections.unmodifiableMap(defenderChoices);
+        this.profilesByLevel = Collections.unmodifiableMap(profilesByLevel);
+        this.scenariosByLevel = Collections.unmodifiableMap(scenariosByLevel);
+        this.optionsByScenario = Collections.unmodifiableMap(optionsByScenario);
+        this.choicesByOption = Collections.unmodifiableMap(choicesByOption);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBuildTimeMillis() {
+        return buildTimeMillis;
+    }
+
+    public List<LevelDto> getEnabledLevels() {
+        return enabledLevels;
+    }
+
+    public Optional<LevelDto> findLevel(Long levelId) {
+        return Optional.ofNullable(levelId != null ? levels.get(levelId) : null);
+    }
+
+    public Optional<DefenderProfileDto> findDefenderProfile(Long profileId) {
+        return Optional.ofNullable(profileId != null ? defenderProfiles.get(profileId) : null);
+    }
+
+    public Optional<AttackOptionDto> findAttackOption(Long optionId) {
+        return Optional.ofNullable(optionId != null ? attackOptions.get(optionId) : null);
+    }
+
+    public Optional<DefenderChoiceDto> findDefenderChoice(Long choiceId) {
+        return Optional.ofNullable(choiceId != null ? defenderChoices.get(choiceId) : null);
+    }
+
+    public boolean hasAttackScenario(Long scenarioId) {
+        return scenarioId != null && optionsByScenario.containsKey(scenarioId);
+    }
+
+    public List<DefenderProfileDto> getDefenderProfiles(Long levelId) {
+        return profilesByLevel.getOrDefault(levelId, List.of());
+    }
+
+    public List<AttackScenarioDto> getAttackScenarios(Long levelId) {
+        return scenariosByLevel.getOrDefault(levelId, List.of());
+    }
+
+    public List<AttackOptionDto> getAttackOptions(Long scenarioId) {
+        return optionsByScenario.getOrDefault(scenarioId, List.of());
+    }
+
+    public List<DefenderChoiceDto> getDefenderChoices(Long attackOptionId) {
+        return choicesByOption.getOrDefault(attackOptionId, List.of());
+    }
+}
@@ -0,0 +1,231 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.event.ContentChangedEvent;
+import com.university.cyberwalk.model.*;
+import com.university.cyberwalk.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds the current {@link ContentGraph} so gameplay read endpoints never touch
+ * the database. The graph is built once the application is ready (after
+ * DataInitializer has seeded content) and rebuilt from scratch after every
+ * committed LevelEditorService write, then swapped in atomically.
+ */
+@Service
+public class ContentGraphCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentGraphCache.class);
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @Autowired
+    private DefenderProfileRepository defenderProfileRepository;
+
+    @Autowired
+    private AttackScenarioRepository attackScenarioRepository;
+
+    @Autowired
+    private AttackOptionRepository attackOptionRepository;
+
+    @Autowired
+    private DefenderChoiceRepository defenderChoiceRepository;
+
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    private volatile ContentGraph graph;
+
+    public ContentGraph current() {
+        ContentGraph current = graph;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Loads every content table once and assembles a new immutable graph.
+     * Concurrent rebuilds are serialized so the newest version always wins.
+     */
+    public synchronized ContentGraph rebuild() {
+        long start = System.nanoTime();
+
+        List<Level> levelEntities = levelRepository.findAllByOrderByOrderIndexAsc();
+        List<DefenderProfile> profileEntities = sortedById(defenderProfileRepository.findAll(), DefenderProfile::getId);
+        List<AttackScenario> scenarioEntities = sortedById(attackScenarioRepository.findAll(), AttackScenario::getId);
+        List<AttackOption> optionEntities = sortedById(attackOptionRepository.findAll(), AttackOption::getId);
+        List<DefenderChoice> choiceEntities = sortedById(defenderChoiceRepository.findAll(), DefenderChoice::getId);
+
+        List<LevelDto> enabledLevels = new ArrayList<>();
+        Map<Long, LevelDto> levels = new HashMap<>();
+        for (Level level : levelEntities) {
+            LevelDto dto = convertToLevelDto(level);
+            levels.put(level.getId(), dto);
+            if (level.isEnabled()) {
+                enabledLevels.add(dto);
+            }
+        }
+
+        Map<Long, DefenderProfileDto> profiles = new HashMap<>();
+        Map<Long, List<DefenderProfileDto>> profilesByLevel = new HashMap<>();
+        for (DefenderProfile profile : profileEntities) {
+            DefenderProfileDto dto = convertToDefenderProfileDto(profile);
+            profiles.put(profile.getId(), dto);
+            profilesByLevel.computeIfAbsent(parentId(profile.getLevel(), Level::getId), k -> new ArrayList<>()).add(dto);
+        }
+
+        Map<Long, List<AttackScenarioDto>> scenariosByLevel = new HashMap<>();
+        Map<Long, List<AttackOptionDto>> optionsByScenario = new HashMap<>();
+        for (AttackScenario scenario : scenarioEntities) {
+            scenariosByLevel.computeIfAbsent(parentId(scenario.getLevel(), Level::getId), k -> new ArrayList<>())
+                    .add(convertToAttackScenarioDto(scenario));
+            optionsByScenario.put(scenario.getId(), new ArrayList<>());
+        }
+
+        Map<Long, AttackOptionDto> options = new HashMap<>();
+        Map<Long, List<DefenderChoiceDto>> choicesByOption = new HashMap<>();
+        for (AttackOption option : optionEntities) {
+            AttackOptionDto dto = convertToAttackOptionDto(option);
+            options.put(option.getId(), dto);
+            optionsByScenario.computeIfAbsent(parentId(option.getAttackScenario(), AttackScenario::getId),
+                    k -> new ArrayList<>()).add(dto);
+            choicesByOption.put(option.getId(), new ArrayList<>());
+        }
+
+        Map<Long, DefenderChoiceDto> choices = new HashMap<>();
+        for (DefenderChoice choice : choiceEntities) {
+            DefenderChoiceDto dto = convertToDefenderChoiceDto(choice);
+            choices.put(choice.getId(), dto);
+            choicesByOption.computeIfAbsent(parentId(choice.getAttackOption(), AttackOption::getId),
+                    k -> new ArrayList<>()).add(dto);
+        }
+
+        long buildTimeNanos = System.nanoTime() - start;
+        long buildTimeMillis = buildTimeNanos / 1_000_000;
+        ContentGraph built = new ContentGraph(
+                versionCounter.incrementAndGet(),
+                buildTimeMillis,
+                enabledLevels,
+                levels,
+                profiles,
+                options,
+                choices,
+                freeze(profilesByLevel),
+                freeze(scenariosByLevel),
+                freeze(optionsByScenario),
+                freeze(choicesByOption));
+
+        graph = built;
+        gameMetrics.recordContentRebuild(buildTimeNanos);
+        log.info("Content graph v{} built in {} ms ({} levels, {} options, {} choices)",
+                built.getVersion(), buildTimeMillis, levels.size(), options.size(), choices.size());
+        return built;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static <T> List<T> sortedById(List<T> entities, Function<T, Long> idGetter) {
+        List<T> sorted = new ArrayList<>(entities);
+        sorted.sort(Comparator.comparing(idGetter, Comparator.nullsLast(Comparator.naturalOrder())));
+        return sorted;
+    }
+
+    private static <P> Long parentId(P parent, Function<P, Long> idGetter) {
+        return parent != null ? idGetter.apply(parent) : null;
+    }
+
+    private static <T> Map<Long, List<T>> freeze(Map<Long, List<T>> grouped) {
+        Map<Long, List<T>> frozen = new HashMap<>();
+        grouped.forEach((key, value) -> frozen.put(key, Collections.unmodifiableList(value)));
+        return frozen;
+    }
+
+    // Conversion methods
+    private LevelDto convertToLevelDto(Level level) {
+        LevelDto dto = new LevelDto();
+        dto.setId(level.getId());
+        dto.setName(level.getName());
+        dto.setDescription(level.getDescription());
+        dto.setDifficulty(level.getDifficulty());
+        dto.setEnabled(level.isEnabled());
+        dto.setOrderIndex(level.getOrderIndex());
+        dto.setMaxAttacks(level.getMaxAttacks());
+        return dto;
+    }
+
+    private DefenderProfileDto convertToDefenderProfileDto(DefenderProfile profile) {
+        DefenderProfileDto dto = new DefenderProfileDto();
+        dto.setId(profile.getId());
+        dto.setName(profile.getName());
+        dto.setDescription(profile.getDescription());
+        dto.setAge(profile.getAge());
+        dto.setAgeGroup(profile.getAgeGroup());
+        dto.setOccupation(profile.getOccupation());
+        dto.setTechSavviness(profile.getTechSavviness());
+        dto.setMentalState(profile.getMentalState());
+        dto.setFinancialStatus(profile.getFinancialStatus());
+        dto.setAvatarIcon(profile.getAvatarIcon());
+        return dto;
+    }
+
+    private AttackScenarioDto convertToAttackScenarioDto(AttackScenario scenario) {
+        AttackScenarioDto dto = new AttackScenarioDto();
+        dto.setId(scenario.getId());
+        dto.setAttackType(scenario.getAttackType());
+        dto.setName(scenario.getName());
+        dto.setDescription(scenario.getDescription());
+        dto.setAttackerNarrative(scenario.getAttackerNarrative());
+        return dto;
+    }
+
+    private AttackOptionDto convertToAttackOptionDto(AttackOption option) {
+        AttackOptionDto dto = new AttackOptionDto();
+        dto.setId(option.getId());
+        dto.setLabel(option.getLabel());
+        dto.setDescription(option.getDescription());
+        dto.setAttackerMessage(option.getAttackerMessage());
+        dto.setImpersonatedEntity(option.getImpersonatedEntity());
+        dto.setBaseAttackerPoints(option.getBaseAttackerPoints());
+        dto.setRiskLevel(option.getRiskLevel());
+        dto.setCriticalRisk(option.isCriticalRisk());
+        return dto;
+    }
+
+    private DefenderChoiceDto convertToDefenderChoiceDto(DefenderChoice choice) {
+        DefenderChoiceDto dto = new DefenderChoiceDto();
+        dto.setId(choice.getId());
+        dto.setLabel(choice.getLabel());
+        dto.setDescription(choice.getDescription());
+        dto.setOutcome(choice.getOutcome());
+        dto.setDefenderScoreDelta(choice.getDefenderScoreDelta());
+        dto.setAttackerScoreDelta(choice.getAttackerScoreDelta());
+        dto.setChoiceType(choice.getChoiceType());
+        dto.setEducationalNote(choice.getEducationalNote());
+        return dto;
+    }
+}
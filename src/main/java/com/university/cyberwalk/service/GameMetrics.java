@@ -0,0 +1,102 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.model.GameRoom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the game engine, exposed through /actuator/prometheus.
+ *
+ * - cyberwalk.game.action: timer per GamePlayService action, tagged with the
+ *   phase before and after the transition
+ * - cyberwalk.game.action.failures: rejected or failed actions
+ * - cyberwalk.rooms.active: live rooms in RoomStateEngine by RoomStatus
+ * - cyberwalk.rooms.dirty: rooms waiting for the next write-behind flush
+ * - cyberwalk.rooms.lifecycle: active, idle and archived rooms as tracked by
+ *   RoomLifecycleManager
+ * - cyberwalk.match-log.pending / .dropped: match events waiting for the next
+ *   MatchEventLog flush, and events lost because the log fell behind
+ *
+ * Repository call timings come from Spring Boot's built-in
+ * spring.data.repository.invocations timer.
+ */
+@Component
+public class GameMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoomStateEngine roomStateEngine;
+
+    @Autowired
+    private RoomLifecycleManager roomLifecycleManager;
+
+    @Autowired
+    private MatchEventLog matchEventLog;
+
+    @PostConstruct
+    void registerGauges() {
+        for (GameRoom.RoomStatus status : GameRoom.RoomStatus.values()) {
+            Gauge.builder("cyberwalk.rooms.active", roomStateEngine, engine -> engine.countByStatus(status))
+                    .description("Rooms held in memory by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("cyberwalk.rooms.dirty", roomStateEngine, RoomStateEngine::getDirtyRoomCount)
+                .description("Rooms with changes not yet flushed to the database")
+                .register(meterRegistry);
+        Gauge.builder("cyberwalk.rooms.lifecycle", roomLifecycleManager, RoomLifecycleManager::getActiveRooms)
+                .description("Rooms by lifecycle state")
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("cyberwalk.rooms.lifecycle", roomLifecycleManager, RoomLifecycleManager::getIdleRooms)
+                .description("Rooms by lifecycle state")
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("cyberwalk.rooms.lifecycle", roomLifecycleManager, RoomLifecycleManager::getArchivedRooms)
+                .description("Rooms by lifecycle state")
+                .tag("state", "archived")
+                .register(meterRegistry);
+        Gauge.builder("cyberwalk.match-log.pending", matchEventLog, MatchEventLog::getPendingCount)
+                .description("Match events waiting for the next flush")
+                .register(meterRegistry);
+        FunctionCounter.builder("cyberwalk.match-log.dropped", matchEventLog, MatchEventLog::getDroppedCount)
+                .description("Match events lost because the log fell behind or could not be written")
+                .register(meterRegistry);
+    }
+
+    public void recordAction(String action, GameRoom.GamePhase from, GameRoom.GamePhase to, long durationNanos) {
+        Timer.builder("cyberwalk.game.action")
+                .description("Time to apply a game action to a room")
+                .tag("action", action)
+                .tag("from", String.valueOf(from))
+                .tag("to", String.valueOf(to))
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordActionFailure(String action, RuntimeException failure) {
+        Counter.builder("cyberwalk.game.action.failures")
+                .description("Game actions rejected or failed")
+                .tag("action", action)
+                .tag("exception", failure.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordContentRebuild(long durationNanos) {
+        Timer.builder("cyberwalk.content.rebuild")
+                .description("Time to rebuild the in-memory content graph")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,198 +1,174 @@
 package com.university.cyberwalk.service;
 
 import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.exception.NotFoundException;
+import com.university.cyberwalk.exception.WrongTurnException;
 import com.university.cyberwalk.model.*;
-import com.university.cyberwalk.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 public class GamePlayService {
 
     @Autowired
-    private GameRoomRepository gameRoomRepository;
+    private RoomStateEngine roomStateEngine;
 
     @Autowired
-    private LevelRepository levelRepository;
+    private ContentGraphCache contentGraphCache;
 
     @Autowired
-    private DefenderProfileRepository defenderProfileRepository;
+    private GameMetrics gameMetrics;
 
     @Autowired
-    private AttackScenarioRepository attackScenarioRepository;
-
-    @Autowired
-    private AttackOptionRepository attackOptionRepository;
-
-    @Autowired
-    private DefenderChoiceRepository defenderChoiceRepository;
+    private MatchEventLog matchEventLog;
 
     // ========== GAME STATE MANAGEMENT ==========
 
-    @Transactional
-    public GameRoom selectLevel(String roomId, Long levelId) {
-        GameRoom room = getRoom(roomId);
-        validateAttackerTurn(room);
-
-        Level level = levelRepository.findById(levelId)
-                .orElseThrow(() -> new RuntimeException("Level not found"));
+    // Actions change the room in RoomStateEngine only; the flusher writes it
+    // behind, so none of them needs a transaction or a connection
 
-        room.setCurrentLevelId(levelId);
-        room.setGamePhase(GameRoom.GamePhase.PROFILE_SELECT);
-        room.setLastActionMessage("Level selected: " + level.getName());
-
-        return gameRoomRepository.save(room);
+    public GameRoom selectLevel(String roomId, Long levelId) {
+        LevelDto level = contentGraphCache.current().findLevel(levelId)
+                .orElseThrow(() -> new NotFoundException("Level not found"));
+
+        return updateAndPublish("selectLevel", roomId, MatchEvent.Type.LEVEL_SELECTED, levelId, room -> {
+            validateAttackerTurn(room);
+
+            room.setCurrentLevelId(levelId);
+            room.setCurrentLevelName(level.getName());
+            room.setCurrentLevelMaxAttacks(level.getMaxAttacks());
+            room.setGamePhase(GameRoom.GamePhase.PROFILE_SELECT);
+            room.setLastActionMessage("Level selected: " + level.getName());
+        });
     }
 
-    @Transactional
     public GameRoom selectDefenderProfile(String roomId, Long profileId) {
-        GameRoom room = getRoom(roomId);
-
-        DefenderProfile profile = defenderProfileRepository.findById(profileId)
-                .orElseThrow(() -> new RuntimeException("Defender Profile not found"));
+        DefenderProfileDto profile = contentGraphCache.current().findDefenderProfile(profileId)
+                .orElseThrow(() -> new NotFoundException("Defender Profile not found"));
 
-        room.setCurrentDefenderProfileId(profileId);
-        room.setGamePhase(GameRoom.GamePhase.ATTACK_TYPE_SELECT);
-        room.setLastActionMessage("Target profile: " + profile.getName());
-
-        return gameRoomRepository.save(room);
+        return updateAndPublish("selectDefenderProfile", roomId, MatchEvent.Type.PROFILE_SELECTED, profileId, room -> {
+            room.setCurrentDefenderProfileId(profileId);
+            room.setGamePhase(GameRoom.GamePhase.ATTACK_TYPE_SELECT);
+            room.setLastActionMessage("Target profile: " + profile.getName());
+        });
     }
 
-    @Transactional
     public GameRoom selectAttackScenario(String roomId, Long scenarioId) {
-        GameRoom room = getRoom(roomId);
-        validateAttackerTurn(room);
-
-        AttackScenario scenario = attackScenarioRepository.findById(scenarioId)
-                .orElseThrow(() -> new RuntimeException("Attack Scenario not found"));
+        if (!contentGraphCache.current().hasAttackScenario(scenarioId)) {
+            throw new NotFoundException("Attack Scenario not found");
+        }
 
-        room.setCurrentAttackScenarioId(scenarioId);
-        room.setGamePhase(GameRoom.GamePhase.ATTACK_OPTION_SELECT);
+        return updateAndPublish("selectAttackScenario", roomId, MatchEvent.Type.SCENARIO_SELECTED, scenarioId, room -> {
+            validateAttackerTurn(room);
 
-        return gameRoomRepository.save(room);
+            room.setCurrentAttackScenarioId(scenarioId);
+            room.setGamePhase(GameRoom.GamePhase.ATTACK_OPTION_SELECT);
+        });
     }
 
-    @Transactional
     public GameRoom selectAttackOption(String roomId, Long optionId) {
-        GameRoom room = getRoom(roomId);
-        validateAttackerTurn(room);
+        // Phase-guarded so a double click can never launch (and count) two attacks
+        return transitionAndPublish("selectAttackOption", roomId, GameRoom.GamePhase.ATTACK_OPTION_SELECT,
+                MatchEvent.Type.ATTACK_LAUNCHED, optionId, room -> {
+            validateAttackerTurn(room);
 
-        // Check if max attacks limit reached
-        if (room.getCurrentLevelId() != null) {
-            Level level = levelRepository.findById(room.getCurrentLevelId())
-                    .orElseThrow(() -> new RuntimeException("Level not found"));
-
-            if (room.getAttacksPerformed() >= level.getMaxAttacks()) {
+            // Check if max attacks limit reached
+            if (isMaxAttacksReached(room)) {
                 // Max attacks reached - end game
                 room.setGamePhase(GameRoom.GamePhase.GAME_OVER);
                 room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
                 room.setLastActionMessage("Maximum attacks reached! Game over.");
-                return gameRoomRepository.save(room);
+                return;
             }
-        }
-
-        AttackOption option = attackOptionRepository.findById(optionId)
-                .orElseThrow(() -> new RuntimeException("Attack Option not found"));
 
-        room.setCurrentAttackOptionId(optionId);
-        room.setGamePhase(GameRoom.GamePhase.DEFENDER_RESPONSE);
-        room.setAttackerTurn(false);
-        room.setAttacksPerformed(room.getAttacksPerformed() + 1);
-        room.setLastActionMessage("Attack launched: " + option.getLabel());
+            AttackOptionDto option = contentGraphCache.current().findAttackOption(optionId)
+                    .orElseThrow(() -> new NotFoundException("Attack Option not found"));
 
-        return gameRoomRepository.save(room);
+            room.setCurrentAttackOptionId(optionId);
+            room.setGamePhase(GameRoom.GamePhase.DEFENDER_RESPONSE);
+            room.setAttackerTurn(false);
+            room.setAttacksPerformed(room.getAttacksPerformed() + 1);
+            room.setLastActionMessage("Attack launched: " + option.getLabel());
+        });
     }
 
-    @Transactional
     public GameRoom makeDefenderChoice(String roomId, Long choiceId) {
-        GameRoom room = getRoom(roomId);
-        validateDefenderTurn(room);
+        DefenderChoiceDto choice = contentGraphCache.current().findDefenderChoice(choiceId)
+                .orElseThrow(() -> new NotFoundException("Defender Choice not found"));
 
-        DefenderChoice choice = defenderChoiceRepository.findById(choiceId)
-                .orElseThrow(() -> new RuntimeException("Defender Choice not found"));
+        return transitionAndPublish("makeDefenderChoice", roomId, GameRoom.GamePhase.DEFENDER_RESPONSE,
+                MatchEvent.Type.DEFENDER_CHOSE, choiceId, room -> {
+            validateDefenderTurn(room);
 
-        // Apply score changes
-        room.setDefenderScore(room.getDefenderScore() + choice.getDefenderScoreDelta());
-        room.setAttackerScore(room.getAttackerScore() + choice.getAttackerScoreDelta());
+            // Apply score changes
+            room.setDefenderScore(room.getDefenderScore() + choice.getDefenderScoreDelta());
+            room.setAttackerScore(room.getAttackerScore() + choice.getAttackerScoreDelta());
 
-        // Store last score deltas for display
-        room.setLastDefenderScoreDelta(choice.getDefenderScoreDelta());
-        room.setLastAttackerScoreDelta(choice.getAttackerScoreDelta());
+            // Store last score deltas for display
+            room.setLastDefenderScoreDelta(choice.getDefenderScoreDelta());
+            room.setLastAttackerScoreDelta(choice.getAttackerScoreDelta());
 
-        // Set outcome message
-        room.setLastOutcome(choice.getOutcome());
-        room.setLastActionMessage("Defender chose: " + choice.getLabel());
+            // Set outcome message
+            room.setLastOutcome(choice.getOutcome());
+            room.setLastActionMessage("Defender chose: " + choice.getLabel());
 
-        // Reset for next round
-        room.setCurrentAttackOptionId(null);
-        room.setAttackerTurn(true);
+            // Reset for next round
+            room.setCurrentAttackOptionId(null);
+            room.setAttackerTurn(true);
 
-        // Check if max attacks reached - if so, game over
-        boolean gameOver = false;
-        if (room.getCurrentLevelId() != null) {
-            Level level = levelRepository.findById(room.getCurrentLevelId()).orElse(null);
-            if (level != null && room.getAttacksPerformed() >= level.getMaxAttacks()) {
-                gameOver = true;
+            // Check if max attacks reached - if so, game over
+            if (isMaxAttacksReached(room)) {
+                room.setGamePhase(GameRoom.GamePhase.GAME_OVER);
+                room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
+                room.setLastActionMessage("All attacks completed! Game over.");
+            } else {
+                room.setGamePhase(GameRoom.GamePhase.OUTCOME_DISPLAY);
             }
-        }
-
-        if (gameOver) {
-            room.setGamePhase(GameRoom.GamePhase.GAME_OVER);
-            room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
-            room.setLastActionMessage("All attacks completed! Game over.");
-        } else {
-            room.setGamePhase(GameRoom.GamePhase.OUTCOME_DISPLAY);
-        }
-
-        return gameRoomRepository.save(room);
+        });
     }
 
-    @Transactional
     public GameRoom continueToNextRound(String roomId) {
-        GameRoom room = getRoom(roomId);
-
-        if (room.getGamePhase() == GameRoom.GamePhase.OUTCOME_DISPLAY) {
-            // Safety net: check if max attacks reached before allowing next round
-            if (room.getCurrentLevelId() != null) {
-                Level level = levelRepository.findById(room.getCurrentLevelId()).orElse(null);
-                if (level != null && room.getAttacksPerformed() >= level.getMaxAttacks()) {
+        return updateAndPublish("continueToNextRound", roomId, null, null, room -> {
+            if (room.getGamePhase() == GameRoom.GamePhase.OUTCOME_DISPLAY) {
+                // Safety net: check if max attacks reached before allowing next round
+                if (isMaxAttacksReached(room)) {
                     room.setGamePhase(GameRoom.GamePhase.GAME_OVER);
                     room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
                     room.setLastActionMessage("All attacks completed! Game over.");
-                    return gameRoomRepository.save(room);
+                    return;
                 }
+                room.setGamePhase(GameRoom.GamePhase.ATTACK_TYPE_SELECT);
+                room.setLastOutcome(null);
+                room.setLastActionMessage("Round " + room.getCurrentRound() + " begins!");
             }
-            room.setGamePhase(GameRoom.GamePhase.ATTACK_TYPE_SELECT);
-            room.setLastOutcome(null);
-            room.setLastActionMessage("Round " + room.getCurrentRound() + " begins!");
-        }
-
-        return gameRoomRepository.save(room);
+        });
     }
 
-    @Transactional
     public GameRoom startNewGame(String roomId) {
-        GameRoom room = getRoom(roomId);
-
-        room.setCurrentLevelId(null);
-        room.setCurrentDefenderProfileId(null);
-        room.setCurrentAttackScenarioId(null);
-        room.setCurrentAttackOptionId(null);
-        room.setGamePhase(GameRoom.GamePhase.LEVEL_SELECT);
-        room.setStatus(GameRoom.RoomStatus.PLAYING);
-        room.setAttackerTurn(true);
-        room.setCurrentRound(1);
-        room.setAttackerScore(0);
-        room.setDefenderScore(0);
-        room.setAttacksPerformed(0);
-        room.setLastActionMessage("New game started!");
-        room.setLastOutcome(null);
-
-        return gameRoomRepository.save(room);
+        return updateAndPublish("startNewGame", roomId, MatchEvent.Type.GAME_STARTED, null, room -> {
+            room.setCurrentLevelId(null);
+            room.setCurrentLevelName(null);
+            room.setCurrentLevelMaxAttacks(null);
+            room.setCurrentDefenderProfileId(null);
+            room.setCurrentAttackScenarioId(null);
+            room.setCurrentAttackOptionId(null);
+            room.setGamePhase(GameRoom.GamePhase.LEVEL_SELECT);
+            room.setStatus(GameRoom.RoomStatus.PLAYING);
+            room.setAttackerTurn(true);
+            room.setCurrentRound(1);
+            room.setAttackerScore(0);
+            room.setDefenderScore(0);
+            room.setAttacksPerformed(0);
+            room.setLastActionMessage("New game started!");
+            room.setLastOutcome(null);
+        });
     }
 
     // ========== GAME STATE QUERIES ==========
@@ -219,19 +195,21 @@ public class GamePlayService {
         state.setDefenderJoined(room.getDefenderSessionId() != null);
         state.setAttackerJoined(room.getAttackerSessionId() != null);
 
-        // Load current level info and set maxAttacks
+        ContentGraph content = contentGraphCache.current();
+
+        // Current level info comes from the snapshot taken at selectLevel
         if (room.getCurrentLevelId() != null) {
-            levelRepository.findById(room.getCurrentLevelId())
-                    .ifPresent(level -> {
-                        state.setCurrentLevelName(level.getName());
-                        state.setMaxAttacks(level.getMaxAttacks());
-                    });
+            state.setCurrentLevelName(room.getCurrentLevelName());
+            Integer maxAttacks = resolveMaxAttacks(room);
+            if (maxAttacks != null) {
+                state.setMaxAttacks(maxAttacks);
+            }
         }
 
         // Load defender profile info (visible to both attacker and defender for
         // strategy)
         if (room.getCurrentDefenderProfileId() != null) {
-            defenderProfileRepository.findById(room.getCurrentDefenderProfileId())
+            content.findDefenderProfile(room.getCurrentDefenderProfileId())
                     .ifPresent(profile -> {
                         state.setDefenderProfileName(profile.getName());
                         state.setDefenderProfileDescription(profile.getDescription());
@@ -247,7 +225,7 @@ public class GamePlayService {
 
         // Load current attack info
         if (room.getCurrentAttackOptionId() != null) {
-            attackOptionRepository.findById(room.getCurrentAttackOptionId())
+            content.findAttackOption(room.getCurrentAttackOptionId())
                     .ifPresent(option -> {
                         state.setCurrentAttackMessage(option.getAttackerMessage());
                         state.setImpersonatedEntity(option.getImpersonatedEntity());
@@ -257,121 +235,147 @@ public class GamePlayService {
         return state;
     }
 
+    /**
+     * Entity tag for the room's current GameStateDto. It changes whenever the
+     * room changes or content is edited, and is computed without building the
+     * DTO, so unchanged polls can be answered with 304 Not Modified.
+     */
+    public String getGameStateTag(String roomId) {
+        return roomStateEngine.getEpoch() + "-" + roomStateEngine.stateVersion(roomId)
+                + "-" + contentGraphCache.current().getVersion();
+    }
+
+    // Every move of every game played in the room, oldest first. Only this
+    // room's: an archived room that had the same code has its own history.
+    public List<MatchEvent> getMatchHistory(String roomId) {
+        return matchEventLog.readRoom(roomId, roomCreatedAt(roomStateEngine.snapshot(roomId)));
+    }
+
     public List<LevelDto> getAvailableLevels() {
-        return levelRepository.findByEnabledTrueOrderByOrderIndexAsc()
-                .stream()
-                .map(this::convertToLevelDto)
-                .collect(Collectors.toList());
+        return contentGraphCache.current().getEnabledLevels();
     }
 
     public List<DefenderProfileDto> getDefenderProfiles(Long levelId) {
-        return defenderProfileRepository.findByLevelId(levelId)
-                .stream()
-                .map(this::convertToDefenderProfileDto)
-                .collect(Collectors.toList());
+        return contentGraphCache.current().getDefenderProfiles(levelId);
     }
 
     public List<AttackScenarioDto> getAttackScenarios(Long levelId) {
-        return attackScenarioRepository.findByLevelId(levelId)
-                .stream()
-                .map(this::convertToAttackScenarioDto)
-                .collect(Collectors.toList());
+        return contentGraphCache.current().getAttackScenarios(levelId);
     }
 
     public List<AttackOptionDto> getAttackOptions(Long scenarioId) {
-        return attackOptionRepository.findByAttackScenarioId(scenarioId)
-                .stream()
-                .map(option -> convertToAttackOptionDto(option))
-                .collect(Collectors.toList());
+        return contentGraphCache.current().getAttackOptions(scenarioId);
     }
 
     public List<DefenderChoiceDto> getDefenderChoices(Long attackOptionId) {
-        return defenderChoiceRepository.findByAttackOptionId(attackOptionId)
-                .stream()
-                .map(this::convertToDefenderChoiceDto)
-                .collect(Collectors.toList());
+        return contentGraphCache.current().getDefenderChoices(attackOptionId);
     }
 
     // ========== HELPER METHODS ==========
 
     private GameRoom getRoom(String roomId) {
-        return gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+        return roomStateEngine.snapshot(roomId);
     }
 
-    private void validateAttackerTurn(GameRoom room) {
-        if (!room.isAttackerTurn()) {
-            throw new RuntimeException("Not attacker's turn");
+    private GameRoom updateAndPublish(String action, String roomId, MatchEvent.Type eventType, Long subjectId,
+            Consumer<GameRoom> change) {
+        return applyAndPublish(action, roomId, null, eventType, subjectId, change);
+    }
+
+    private GameRoom transitionAndPublish(String action, String roomId, GameRoom.GamePhase expectedPhase,
+            MatchEvent.Type eventType, Long subjectId, Consumer<GameRoom> change) {
+        return applyAndPublish(action, roomId, expectedPhase, eventType, subjectId, change);
+    }
+
+    private GameRoom applyAndPublish(String action, String roomId, GameRoom.GamePhase expectedPhase,
+            MatchEvent.Type eventType, Long subjectId, Consumer<GameRoom> change) {
+        long start = System.nanoTime();
+        AtomicReference<GameRoom.GamePhase> phaseBefore = new AtomicReference<>();
+        Consumer<GameRoom> tracked = room -> {
+            phaseBefore.set(room.getGamePhase());
+            change.accept(room);
+        };
+
+        try {
+            GameRoom updated = expectedPhase != null
+                    ? roomStateEngine.transition(roomId, expectedPhase, tracked)
+                    : roomStateEngine.update(roomId, tracked);
+            gameMetrics.recordAction(action, phaseBefore.get(), updated.getGamePhase(), System.nanoTime() - start);
+            recordMatchEvents(eventType, subjectId, phaseBefore.get(), updated);
+            return updated;
+        } catch (RuntimeException e) {
+            gameMetrics.recordActionFailure(action, e);
+            throw e;
         }
     }
 
-    private void validateDefenderTurn(GameRoom room) {
-        if (room.isAttackerTurn()) {
-            throw new RuntimeException("Not defender's turn");
+    // The move itself, then GAME_OVER if it ended the game. Once the attack
+    // limit is reached selectAttackOption ends the game instead of launching.
+    private void recordMatchEvents(MatchEvent.Type eventType, Long subjectId, GameRoom.GamePhase phaseBefore,
+            GameRoom room) {
+        boolean launchRefused = eventType == MatchEvent.Type.ATTACK_LAUNCHED
+                && room.getGamePhase() != GameRoom.GamePhase.DEFENDER_RESPONSE;
+        if (eventType != null && !launchRefused) {
+            matchEventLog.append(matchEvent(eventType, subjectId, room));
+        }
+        if (room.getGamePhase() == GameRoom.GamePhase.GAME_OVER && phaseBefore != GameRoom.GamePhase.GAME_OVER) {
+            matchEventLog.append(matchEvent(MatchEvent.Type.GAME_OVER, null, room));
         }
     }
 
-    // Conversion methods
-    private LevelDto convertToLevelDto(Level level) {
-        LevelDto dto = new LevelDto();
-        dto.setId(level.getId());
-        dto.setName(level.getName());
-        dto.setDescription(level.getDescription());
-        dto.setDifficulty(level.getDifficulty());
-        dto.setEnabled(level.isEnabled());
-        dto.setOrderIndex(level.getOrderIndex());
-        dto.setMaxAttacks(level.getMaxAttacks());
-        return dto;
+    // Millisecond precision, so the value is the same after a reload from the database
+    private static Instant roomCreatedAt(GameRoom room) {
+        if (room.getCreatedAt() == null) {
+            return Instant.EPOCH;
+        }
+        return room.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private MatchEvent matchEvent(MatchEvent.Type type, Long subjectId, GameRoom room) {
+        MatchEvent event = new MatchEvent();
+        event.setRoomId(room.getRoomId());
+        event.setRoomCreatedAt(roomCreatedAt(room));
+        event.setType(type);
+        event.setOccurredAt(Instant.now());
+        event.setSubjectId(subjectId);
+        if (type == MatchEvent.Type.DEFENDER_CHOSE) {
+            event.setDefenderScoreDelta(room.getLastDefenderScoreDelta());
+            event.setAttackerScoreDelta(room.getLastAttackerScoreDelta());
+        }
+        event.setAttackerScore(room.getAttackerScore());
+        event.setDefenderScore(room.getDefenderScore());
+        event.setAttacksPerformed(room.getAttacksPerformed());
+        return event;
     }
 
-    private DefenderProfileDto convertToDefenderProfileDto(DefenderProfile profile) {
-        DefenderProfileDto dto = new DefenderProfileDto();
-        dto.setId(profile.getId());
-        dto.setName(profile.getName());
-        dto.setDescription(profile.getDescription());
-        dto.setAge(profile.getAge());
-        dto.setAgeGroup(profile.getAgeGroup());
-        dto.setOccupation(profile.getOccupation());
-        dto.setTechSavviness(profile.getTechSavviness());
-        dto.setMentalState(profile.getMentalState());
-        dto.setFinancialStatus(profile.getFinancialStatus());
-        dto.setAvatarIcon(profile.getAvatarIcon());
-        return dto;
+    private boolean isMaxAttacksReached(GameRoom room) {
+        Integer maxAttacks = resolveMaxAttacks(room);
+        return maxAttacks != null && room.getAttacksPerformed() >= maxAttacks;
     }
 
-    private AttackScenarioDto convertToAttackScenarioDto(AttackScenario scenario) {
-        AttackScenarioDto dto = new AttackScenarioDto();
-        dto.setId(scenario.getId());
-        dto.setAttackType(scenario.getAttackType());
-        dto.setName(scenario.getName());
-        dto.setDescription(scenario.getDescription());
-        dto.setAttackerNarrative(scenario.getAttackerNarrative());
-        return dto;
+    // Rooms that selected a level before the snapshot columns existed fall back
+    // to the current content graph
+    private Integer resolveMaxAttacks(GameRoom room) {
+        if (room.getCurrentLevelMaxAttacks() != null) {
+            return room.getCurrentLevelMaxAttacks();
+        }
+        if (room.getCurrentLevelId() == null) {
+            return null;
+        }
+        return contentGraphCache.current().findLevel(room.getCurrentLevelId())
+                .map(LevelDto::getMaxAttacks)
+                .orElse(null);
     }
 
-    private AttackOptionDto convertToAttackOptionDto(AttackOption option) {
-        AttackOptionDto dto = new AttackOptionDto();
-        dto.setId(option.getId());
-        dto.setLabel(option.getLabel());
-        dto.setDescription(option.getDescription());
-        dto.setAttackerMessage(option.getAttackerMessage());
-        dto.setImpersonatedEntity(option.getImpersonatedEntity());
-        dto.setBaseAttackerPoints(option.getBaseAttackerPoints());
-        dto.setRiskLevel(option.getRiskLevel());
-        dto.setCriticalRisk(option.isCriticalRisk());
-        return dto;
+    private void validateAttackerTurn(GameRoom room) {
+        if (!room.isAttackerTurn()) {
+            throw WrongTurnException.NOT_ATTACKER_TURN;
+        }
     }
 
-    private DefenderChoiceDto convertToDefenderChoiceDto(DefenderChoice choice) {
-        DefenderChoiceDto dto = new DefenderChoiceDto();
-        dto.setId(choice.getId());
-        dto.setLabel(choice.getLabel());
-        dto.setDescription(choice.getDescription());
-        dto.setOutcome(choice.getOutcome());
-        dto.setDefenderScoreDelta(choice.getDefenderScoreDelta());
-        dto.setAttackerScoreDelta(choice.getAttackerScoreDelta());
-        dto.setChoiceType(choice.getChoiceType());
-        dto.setEducationalNote(choice.getEducationalNote());
-        return dto;
+    private void validateDefenderTurn(GameRoom room) {
+        if (room.isAttackerTurn()) {
+            throw WrongTurnException.NOT_DEFENDER_TURN;
+        }
     }
 }
@@ -1,8 +1,11 @@
 package com.university.cyberwalk.service;
 
+import com.university.cyberwalk.exception.ConflictException;
+import com.university.cyberwalk.exception.GameException;
+import com.university.cyberwalk.exception.InvalidPhaseException;
+import com.university.cyberwalk.exception.NotFoundException;
 import com.university.cyberwalk.model.AttackType;
 import com.university.cyberwalk.model.GameRoom;
-import com.university.cyberwalk.repository.GameRoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,108 +18,100 @@ public class GameRoomService {
     private com.university.cyberwalk.repository.OptionRepository optionRepository;
 
     @Autowired
-    private GameRoomRepository gameRoomRepository;
+    private RoomStateEngine roomStateEngine;
 
-    public GameRoom processAction(String roomId, Long optionId) {
-        GameRoom room = gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-
-        if (room.getStatus() != GameRoom.RoomStatus.DEFENDER_TURN) {
-            throw new RuntimeException("Not in defender turn");
-        }
+    @Autowired
+    private RoomCodeAllocator roomCodeAllocator;
 
+    public GameRoom processAction(String roomId, Long optionId) {
         com.university.cyberwalk.model.Option option = optionRepository.findById(optionId)
-                .orElseThrow(() -> new RuntimeException("Option not found"));
+                .orElseThrow(() -> new NotFoundException("Option not found"));
 
-        room.setDefenderScore(room.getDefenderScore() + option.getDefenderScoreDelta());
-        room.setAttackerScore(room.getAttackerScore() + option.getAttackerScoreDelta());
-        room.setCurrentVideoId(option.getTargetVideoId());
+        return roomStateEngine.update(roomId, room -> {
+            if (room.getStatus() != GameRoom.RoomStatus.DEFENDER_TURN) {
+                throw new InvalidPhaseException("Not in defender turn");
+            }
 
-        // Only end game after Scene 4 final choices (4_1 or 4_2)
-        // This ensures all 4 scenes play through completely
-        String targetVideo = option.getTargetVideoId();
-        if ("4_1".equals(targetVideo) || "4_2".equals(targetVideo)) {
-            room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
-        }
+            room.setDefenderScore(room.getDefenderScore() + option.getDefenderScoreDelta());
+            room.setAttackerScore(room.getAttackerScore() + option.getAttackerScoreDelta());
+            room.setCurrentVideoId(option.getTargetVideoId());
 
-        return gameRoomRepository.save(room);
+            // Only end game after Scene 4 final choices (4_1 or 4_2)
+            // This ensures all 4 scenes play through completely
+            String targetVideo = option.getTargetVideoId();
+            if ("4_1".equals(targetVideo) || "4_2".equals(targetVideo)) {
+                room.setStatus(GameRoom.RoomStatus.ROUND_OVER);
+            }
+        });
     }
 
     public GameRoom createRoom() {
         GameRoom room = new GameRoom();
-        room.setRoomId(UUID.randomUUID().toString().substring(0, 6).toUpperCase());
+        room.setRoomId(roomCodeAllocator.allocate());
         room.setStatus(GameRoom.RoomStatus.WAITING);
-        return gameRoomRepository.save(room);
+        try {
+            return roomStateEngine.register(room);
+        } catch (RuntimeException e) {
+            roomCodeAllocator.release(room.getRoomId());
+            throw e;
+        }
     }
 
     public GameRoom joinRoom(String roomId, String role) {
-        GameRoom room = gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-
-        if ("ATTACKER".equalsIgnoreCase(role)) {
-            if (room.getAttackerSessionId() != null) {
-                throw new RuntimeException("Attacker role already taken");
-            }
-            room.setAttackerSessionId(UUID.randomUUID().toString());
-        } else if ("DEFENDER".equalsIgnoreCase(role)) {
-            if (room.getDefenderSessionId() != null) {
-                throw new RuntimeException("Defender role already taken");
+        return roomStateEngine.update(roomId, room -> {
+            if ("ATTACKER".equalsIgnoreCase(role)) {
+                if (room.getAttackerSessionId() != null) {
+                    throw new ConflictException("Attacker role already taken");
+                }
+                room.setAttackerSessionId(UUID.randomUUID().toString());
+            } else if ("DEFENDER".equalsIgnoreCase(role)) {
+                if (room.getDefenderSessionId() != null) {
+                    throw new ConflictException("Defender role already taken");
+                }
+                room.setDefenderSessionId(UUID.randomUUID().toString());
+            } else {
+                throw new GameException("Invalid role");
             }
-            room.setDefenderSessionId(UUID.randomUUID().toString());
-        } else {
-            throw new RuntimeException("Invalid role");
-        }
 
-        if (room.getAttackerSessionId() != null && room.getStatus() == GameRoom.RoomStatus.WAITING) {
-            room.setStatus(GameRoom.RoomStatus.ATTACK_SELECTION);
-        }
-
-        return gameRoomRepository.save(room);
+            if (room.getAttackerSessionId() != null && room.getStatus() == GameRoom.RoomStatus.WAITING) {
+                room.setStatus(GameRoom.RoomStatus.ATTACK_SELECTION);
+            }
+        });
     }
 
     public GameRoom getRoomStatus(String roomId) {
-        return gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
+        return roomStateEngine.snapshot(roomId);
     }
 
     public GameRoom setAttack(String roomId, AttackType attackType) {
-        GameRoom room = gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-
-        if (room.getStatus() != GameRoom.RoomStatus.ATTACK_SELECTION) {
-            throw new RuntimeException("Not in attack selection phase");
-        }
-
-        if (room.getDefenderSessionId() == null) {
-            throw new RuntimeException("Cannot start attack: Defender has not joined yet");
-        }
+        return roomStateEngine.update(roomId, room -> {
+            if (room.getStatus() != GameRoom.RoomStatus.ATTACK_SELECTION) {
+                throw new InvalidPhaseException("Not in attack selection phase");
+            }
 
-        room.setSelectedAttackType(attackType);
-        room.setStatus(GameRoom.RoomStatus.DEFENDER_TURN);
+            if (room.getDefenderSessionId() == null) {
+                throw new ConflictException("Cannot start attack: Defender has not joined yet");
+            }
 
-        // Always start with Scene 1 for complete story sequence
-        // The full 4-scene sequence will play through automatically
-        room.setCurrentVideoId("1");
+            room.setSelectedAttackType(attackType);
+            room.setStatus(GameRoom.RoomStatus.DEFENDER_TURN);
 
-        return gameRoomRepository.save(room);
+            // Always start with Scene 1 for complete story sequence
+            // The full 4-scene sequence will play through automatically
+            room.setCurrentVideoId("1");
+        });
     }
 
     public GameRoom updateScore(String roomId, int defenderDelta, int attackerDelta) {
-        GameRoom room = gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-
-        room.setDefenderScore(room.getDefenderScore() + defenderDelta);
-        room.setAttackerScore(room.getAttackerScore() + attackerDelta);
-
-        // Logic to check if round is over can be added here
+        return roomStateEngine.update(roomId, room -> {
+            room.setDefenderScore(room.getDefenderScore() + defenderDelta);
+            room.setAttackerScore(room.getAttackerScore() + attackerDelta);
 
-        return gameRoomRepository.save(room);
+            // Logic to check if round is over can be added here
+        });
     }
 
     public GameRoom updateCurrentVideo(String roomId, String videoId) {
-        GameRoom room = gameRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new RuntimeException("Room not found"));
-        room.setCurrentVideoId(videoId);
-        return gameRoomRepository.save(room);
+        return roomStateEngine.update(roomId, room -> room.setCurrentVideoId(videoId));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.university.cyberwalk.service;
 
 import com.university.cyberwalk.dto.ChoiceRequest;
 import com.university.cyberwalk.dto.SessionResponse;
+import com.university.cyberwalk.exception.NotFoundException;
 import com.university.cyberwalk.model.GameSession;
 import com.university.cyberwalk.repository.GameSessionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,13 +32,13 @@ public class GameSessionService {
     
     public SessionResponse getSession(String sessionId) {
         GameSession session = gameSessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+                .orElseThrow(() -> new NotFoundException("Session not found: " + sessionId));
         return convertToResponse(session);
     }
     
     public SessionResponse makeChoice(ChoiceRequest request) {
         GameSession session = gameSessionRepository.findBySessionId(request.getSessionId())
-                .orElseThrow(() -> new RuntimeException("Session not found: " + request.getSessionId()));
+                .orElseThrow(() -> new NotFoundException("Session not found: " + request.getSessionId()));
         
         // Update score
         session.setCurrentScore(session.getCurrentScore() + request.getScoreChange());
@@ -54,7 +55,7 @@ public class GameSessionService {
     
     public SessionResponse completeSession(String sessionId) {
         GameSession session = gameSessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+                .orElseThrow(() -> new NotFoundException("Session not found: " + sessionId));
         
         session.setCompleted(true);
         session.setLastUpdated(LocalDateTime.now());
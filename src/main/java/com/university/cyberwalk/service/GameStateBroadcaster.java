@@ -0,0 +1,82 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.GameStateDto;
+import com.university.cyberwalk.event.GameStateChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Server-Sent Events channel for game state, keyed by roomId.
+ * Clients subscribe once and receive a GameStateDto only when a change
+ * to the room commits, instead of polling every 1.5s.
+ */
+@Service
+public class GameStateBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MS = 5 * 60 * 1000L;
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(String roomId) {
+        // Resolve the snapshot first so unknown rooms fail before we register anything
+        GameStateDto initialState = gamePlayService.getGameState(roomId);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emitters.computeIfAbsent(roomId, key -> new CopyOnWriteArraySet<>()).add(emitter);
+
+        emitter.onCompletion(() -> unsubscribe(roomId, emitter));
+        emitter.onTimeout(() -> unsubscribe(roomId, emitter));
+        emitter.onError(error -> unsubscribe(roomId, emitter));
+
+        send(roomId, emitter, initialState);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        String roomId = event.getRoomId();
+        Set<SseEmitter> subscribers = emitters.get(roomId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        // Build the state once and fan it out to every subscriber of the room
+        GameStateDto state = gamePlayService.getGameState(roomId);
+        for (SseEmitter emitter : subscribers) {
+            send(roomId, emitter, state);
+        }
+    }
+
+    public int getSubscriberCount(String roomId) {
+        Set<SseEmitter> subscribers = emitters.get(roomId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    private void send(String roomId, SseEmitter emitter, GameStateDto state) {
+        try {
+            emitter.send(SseEmitter.event().name("state").data(state));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; drop it and let the browser reconnect or fall back to polling
+            unsubscribe(roomId, emitter);
+        }
+    }
+
+    private void unsubscribe(String roomId, SseEmitter emitter) {
+        emitters.computeIfPresent(roomId, (key, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
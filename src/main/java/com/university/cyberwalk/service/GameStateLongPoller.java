@@ -0,0 +1,109 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.GameStateDto;
+import com.university.cyberwalk.event.GameStateChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Long-poll alternative to the SSE stream for clients behind proxies that
+ * break streaming responses. A request for /state?after={etag} is parked as a
+ * Servlet async DeferredResult, so it holds no Tomcat thread, and is released
+ * as soon as a change to the room commits or the timeout elapses (304 if the
+ * tag is still {@code after}, client simply asks again).
+ */
+@Service
+public class GameStateLongPoller {
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    @Value("${cyberwalk.longpoll.timeout-ms:25000}")
+    private long timeoutMs;
+
+    private final Map<String, Set<DeferredResult<ResponseEntity<GameStateDto>>>> waiters = new ConcurrentHashMap<>();
+
+    public DeferredResult<ResponseEntity<GameStateDto>> awaitChange(String roomId, String afterTag) {
+        DeferredResult<ResponseEntity<GameStateDto>> result = new DeferredResult<>(timeoutMs);
+        // Resolved before registering: an unknown room fails here, with nothing left parked
+        if (!currentTag(roomId).equals(afterTag)) {
+            complete(roomId, result);
+            return result;
+        }
+
+        result.onTimeout(() -> timedOut(roomId, afterTag, result));
+        result.onCompletion(() -> unregister(roomId, result));
+        waiters.computeIfAbsent(roomId, key -> new CopyOnWriteArraySet<>()).add(result);
+
+        // Checked again after registering so a change committed in between is never missed
+        try {
+            if (!currentTag(roomId).equals(afterTag)) {
+                complete(roomId, result);
+            }
+        } catch (RuntimeException e) {
+            unregister(roomId, result);
+            throw e;
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        Set<DeferredResult<ResponseEntity<GameStateDto>>> parked = waiters.remove(event.getRoomId());
+        if (parked == null) {
+            return;
+        }
+        for (DeferredResult<ResponseEntity<GameStateDto>> result : parked) {
+            complete(event.getRoomId(), result);
+        }
+    }
+
+    public int getParkedCount() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void complete(String roomId, DeferredResult<ResponseEntity<GameStateDto>> result) {
+        // Tag first, then state: the tag may lag the body but never runs ahead of it
+        String etag = currentTag(roomId);
+        result.setResult(ResponseEntity.ok().eTag(etag).body(gamePlayService.getGameState(roomId)));
+    }
+
+    // The tag also moves without a room event, e.g. when level content changes;
+    // a 304 would hand the client the new tag without the body that goes with it
+    private void timedOut(String roomId, String afterTag, DeferredResult<ResponseEntity<GameStateDto>> result) {
+        try {
+            if (currentTag(roomId).equals(afterTag)) {
+                result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(afterTag).build());
+            } else {
+                complete(roomId, result);
+            }
+        } catch (RuntimeException e) {
+            // e.g. the room was archived while parked
+            result.setErrorResult(e);
+        }
+    }
+
+    private String currentTag(String roomId) {
+        return "\"" + gamePlayService.getGameStateTag(roomId) + "\"";
+    }
+
+    private void unregister(String roomId, DeferredResult<ResponseEntity<GameStateDto>> result) {
+        waiters.computeIfPresent(roomId, (key, parked) -> {
+            parked.remove(result);
+            return parked.isEmpty() ? null : parked;
+        });
+    }
+}
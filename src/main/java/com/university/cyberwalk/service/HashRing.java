@@ -0,0 +1,68 @@
+package com.university.cyberwalk.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping room ids to node URLs.
+ *
+ * Each node is placed on the ring at {@code virtualNodes} points; a key
+ * belongs to the first point at or after its hash. When a node joins or
+ * leaves, only the keys between its points and their predecessors move, so
+ * roughly 1/N of the rooms change owner.
+ */
+public final class HashRing {
+
+    private final SortedSet<String> nodes;
+    private final NavigableMap<Long, String> points;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableSortedSet(new TreeSet<>(nodes));
+        NavigableMap<Long, String> ring = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Ties are settled by node name so every member builds the same ring
+                ring.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+        this.points = Collections.unmodifiableNavigableMap(ring);
+    }
+
+    public String ownerOf(String key) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public SortedSet<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    // FNV-1a with a murmur3 finalizer: cheap for short room codes and well
+    // spread for the near-identical virtual node names
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85b9bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,19 +1,60 @@
 package com.university.cyberwalk.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.cyberwalk.dto.*;
+import com.university.cyberwalk.event.ContentChangedEvent;
+import com.university.cyberwalk.exception.GameException;
+import com.university.cyberwalk.exception.NotFoundException;
 import com.university.cyberwalk.model.*;
 import com.university.cyberwalk.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LevelEditorService {
 
+    private static final int CONTENT_BUNDLE_FORMAT = 1;
+
+    // Defender choices are the bulk of an import; they are inserted with
+    // batched JDBC statements instead of going through the persistence context
+    private static final String INSERT_DEFENDER_CHOICE = "insert into defender_choices "
+            + "(label, description, outcome, defender_score_delta, attacker_score_delta, choice_type, "
+            + "educational_note, attack_option_id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Level clone: rows nobody needs the new id of are copied inside the database
+    private static final String COPY_DEFENDER_PROFILES = "insert into defender_profiles "
+            + "(name, description, age, age_group, occupation, tech_savviness, mental_state, financial_status, "
+            + "avatar_icon, level_id) "
+            + "select name, description, age, age_group, occupation, tech_savviness, mental_state, financial_status, "
+            + "avatar_icon, ? from defender_profiles where level_id = ? order by id";
+
+    private static final String COPY_DEFENDER_CHOICES = "insert into defender_choices "
+            + "(label, description, outcome, defender_score_delta, attacker_score_delta, choice_type, "
+            + "educational_note, attack_option_id) "
+            + "select label, description, outcome, defender_score_delta, attacker_score_delta, choice_type, "
+            + "educational_note, ? from defender_choices where attack_option_id = ? order by id";
+
     @Autowired
     private LevelRepository levelRepository;
 
@@ -29,8 +70,24 @@ public class LevelEditorService {
     @Autowired
     private DefenderChoiceRepository defenderChoiceRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${cyberwalk.levels.import-batch-size:500}")
+    private int importBatchSize;
+
     // ========== LEVEL OPERATIONS ==========
 
+    @Transactional(readOnly = true)
     public List<LevelDto> getAllLevels() {
         return levelRepository.findAllByOrderByOrderIndexAsc()
                 .stream()
@@ -38,6 +95,7 @@ public class LevelEditorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<LevelDto> getEnabledLevels() {
         return levelRepository.findByEnabledTrueOrderByOrderIndexAsc()
                 .stream()
@@ -45,9 +103,15 @@ public class LevelEditorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public LevelDto getLevelById(Long id) {
-        Level level = levelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Level not found"));
+        // Initialize the whole tree with one query per collection instead of
+        // one query per parent row
+        Level level = levelRepository.findWithDefenderProfilesById(id)
+                .orElseThrow(() -> new NotFoundException("Level not found"));
+        levelRepository.findWithAttackScenariosById(id);
+        attackScenarioRepository.findWithAttackOptionsByLevelId(id);
+        attackOptionRepository.findWithDefenderChoicesByLevelId(id);
         return convertToLevelDto(level);
     }
 
@@ -62,13 +126,14 @@ public class LevelEditorService {
         level.setMaxAttacks(dto.getMaxAttacks() > 0 ? dto.getMaxAttacks() : 5);
 
         Level savedLevel = levelRepository.save(level);
+        publishContentChanged();
         return convertToLevelDto(savedLevel);
     }
 
     @Transactional
     public LevelDto updateLevel(Long id, LevelDto dto) {
         Level level = levelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Level not found"));
+                .orElseThrow(() -> new NotFoundException("Level not found"));
 
         level.setName(dto.getName());
         level.setDescription(dto.getDescription());
@@ -78,12 +143,77 @@ public class LevelEditorService {
         level.setMaxAttacks(dto.getMaxAttacks() > 0 ? dto.getMaxAttacks() : 5);
 
         Level savedLevel = levelRepository.save(level);
+        publishContentChanged();
         return convertToLevelDto(savedLevel);
     }
 
     @Transactional
     public void deleteLevel(Long id) {
         levelRepository.deleteById(id);
+        publishContentChanged();
+    }
+
+    /**
+     * Copies a level with its whole tree in one transaction. Scenarios and
+     * options are copied through JPA because their new ids are needed for the
+     * children; profiles and choices are copied with INSERT ... SELECT, the
+     * choices as one JDBC batch with a statement per option. The copy starts
+     * disabled so players never see it half-edited.
+     */
+    @Transactional
+    public LevelDto cloneLevel(Long id) {
+        Level source = levelRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Level not found"));
+
+        Level copy = new Level();
+        copy.setName(source.getName() + " (Copy)");
+        copy.setDescription(source.getDescription());
+        copy.setDifficulty(source.getDifficulty());
+        copy.setEnabled(false);
+        copy.setOrderIndex(source.getOrderIndex());
+        copy.setMaxAttacks(source.getMaxAttacks());
+        copy = levelRepository.save(copy);
+
+        // With sequence ids the insert waits for a flush; the copies below reference it
+        entityManager.flush();
+        jdbcTemplate.update(COPY_DEFENDER_PROFILES, copy.getId(), source.getId());
+
+        Map<Long, AttackScenario> scenarioCopies = new HashMap<>();
+        for (AttackScenario scenario : attackScenarioRepository.findByLevelIdOrderByIdAsc(id)) {
+            AttackScenario scenarioCopy = new AttackScenario();
+            scenarioCopy.setAttackType(scenario.getAttackType());
+            scenarioCopy.setName(scenario.getName());
+            scenarioCopy.setDescription(scenario.getDescription());
+            scenarioCopy.setAttackerNarrative(scenario.getAttackerNarrative());
+            scenarioCopy.setLevel(copy);
+            scenarioCopies.put(scenario.getId(), attackScenarioRepository.save(scenarioCopy));
+        }
+
+        List<Object[]> choiceCopies = new ArrayList<>();
+        for (AttackOption option : attackOptionRepository.findByLevelIdOrderByScenarioAndId(id)) {
+            AttackOption optionCopy = new AttackOption();
+            optionCopy.setLabel(option.getLabel());
+            optionCopy.setDescription(option.getDescription());
+            optionCopy.setAttackerMessage(option.getAttackerMessage());
+            optionCopy.setImpersonatedEntity(option.getImpersonatedEntity());
+            optionCopy.setBaseAttackerPoints(option.getBaseAttackerPoints());
+            optionCopy.setRiskLevel(option.getRiskLevel());
+            optionCopy.setCriticalRisk(option.isCriticalRisk());
+            optionCopy.setAttackScenario(scenarioCopies.get(option.getAttackScenario().getId()));
+            optionCopy = attackOptionRepository.save(optionCopy);
+            choiceCopies.add(new Object[] { optionCopy.getId(), option.getId() });
+        }
+        if (!choiceCopies.isEmpty()) {
+            entityManager.flush();
+            jdbcTemplate.batchUpdate(COPY_DEFENDER_CHOICES, choiceCopies);
+        }
+
+        // The new entities were created with empty collections; reload the tree
+        // so the JDBC-copied rows are part of the response
+        entityManager.flush();
+        entityManager.clear();
+        publishContentChanged();
+        return getLevelById(copy.getId());
     }
 
     // ========== DEFENDER PROFILE OPERATIONS ==========
@@ -91,29 +221,32 @@ public class LevelEditorService {
     @Transactional
     public DefenderProfileDto createDefenderProfile(Long levelId, DefenderProfileDto dto) {
         Level level = levelRepository.findById(levelId)
-                .orElseThrow(() -> new RuntimeException("Level not found"));
+                .orElseThrow(() -> new NotFoundException("Level not found"));
 
         DefenderProfile profile = new DefenderProfile();
         updateDefenderProfileFromDto(profile, dto);
         profile.setLevel(level);
 
         DefenderProfile saved = defenderProfileRepository.save(profile);
+        publishContentChanged();
         return convertToDefenderProfileDto(saved);
     }
 
     @Transactional
     public DefenderProfileDto updateDefenderProfile(Long id, DefenderProfileDto dto) {
         DefenderProfile profile = defenderProfileRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Defender Profile not found"));
+                .orElseThrow(() -> new NotFoundException("Defender Profile not found"));
 
         updateDefenderProfileFromDto(profile, dto);
         DefenderProfile saved = defenderProfileRepository.save(profile);
+        publishContentChanged();
         return convertToDefenderProfileDto(saved);
     }
 
     @Transactional
     public void deleteDefenderProfile(Long id) {
         defenderProfileRepository.deleteById(id);
+        publishContentChanged();
     }
 
     // ========== ATTACK SCENARIO OPERATIONS ==========
@@ -121,7 +254,7 @@ public class LevelEditorService {
     @Transactional
     public AttackScenarioDto createAttackScenario(Long levelId, AttackScenarioDto dto) {
         Level level = levelRepository.findById(levelId)
-                .orElseThrow(() -> new RuntimeException("Level not found"));
+                .orElseThrow(() -> new NotFoundException("Level not found"));
 
         AttackScenario scenario = new AttackScenario();
         scenario.setAttackType(dto.getAttackType());
@@ -131,13 +264,14 @@ public class LevelEditorService {
         scenario.setLevel(level);
 
         AttackScenario saved = attackScenarioRepository.save(scenario);
+        publishContentChanged();
         return convertToAttackScenarioDto(saved);
     }
 
     @Transactional
     public AttackScenarioDto updateAttackScenario(Long id, AttackScenarioDto dto) {
         AttackScenario scenario = attackScenarioRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Attack Scenario not found"));
+                .orElseThrow(() -> new NotFoundException("Attack Scenario not found"));
 
         scenario.setAttackType(dto.getAttackType());
         scenario.setName(dto.getName());
@@ -145,12 +279,14 @@ public class LevelEditorService {
         scenario.setAttackerNarrative(dto.getAttackerNarrative());
 
         AttackScenario saved = attackScenarioRepository.save(scenario);
+        publishContentChanged();
         return convertToAttackScenarioDto(saved);
     }
 
     @Transactional
     public void deleteAttackScenario(Long id) {
         attackScenarioRepository.deleteById(id);
+        publishContentChanged();
     }
 
     // ========== ATTACK OPTION OPERATIONS ==========
@@ -158,29 +294,32 @@ public class LevelEditorService {
     @Transactional
     public AttackOptionDto createAttackOption(Long scenarioId, AttackOptionDto dto) {
         AttackScenario scenario = attackScenarioRepository.findById(scenarioId)
-                .orElseThrow(() -> new RuntimeException("Attack Scenario not found"));
+                .orElseThrow(() -> new NotFoundException("Attack Scenario not found"));
 
         AttackOption option = new AttackOption();
         updateAttackOptionFromDto(option, dto);
         option.setAttackScenario(scenario);
 
         AttackOption saved = attackOptionRepository.save(option);
+        publishContentChanged();
         return convertToAttackOptionDto(saved);
     }
 
     @Transactional
     public AttackOptionDto updateAttackOption(Long id, AttackOptionDto dto) {
         AttackOption option = attackOptionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Attack Option not found"));
+                .orElseThrow(() -> new NotFoundException("Attack Option not found"));
 
         updateAttackOptionFromDto(option, dto);
         AttackOption saved = attackOptionRepository.save(option);
+        publishContentChanged();
         return convertToAttackOptionDto(saved);
     }
 
     @Transactional
     public void deleteAttackOption(Long id) {
         attackOptionRepository.deleteById(id);
+        publishContentChanged();
     }
 
     // ========== DEFENDER CHOICE OPERATIONS ==========
@@ -188,29 +327,99 @@ public class LevelEditorService {
     @Transactional
     public DefenderChoiceDto createDefenderChoice(Long attackOptionId, DefenderChoiceDto dto) {
         AttackOption option = attackOptionRepository.findById(attackOptionId)
-                .orElseThrow(() -> new RuntimeException("Attack Option not found"));
+                .orElseThrow(() -> new NotFoundException("Attack Option not found"));
 
         DefenderChoice choice = new DefenderChoice();
         updateDefenderChoiceFromDto(choice, dto);
         choice.setAttackOption(option);
 
         DefenderChoice saved = defenderChoiceRepository.save(choice);
+        publishContentChanged();
         return convertToDefenderChoiceDto(saved);
     }
 
     @Transactional
     public DefenderChoiceDto updateDefenderChoice(Long id, DefenderChoiceDto dto) {
         DefenderChoice choice = defenderChoiceRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Defender Choice not found"));
+                .orElseThrow(() -> new NotFoundException("Defender Choice not found"));
 
         updateDefenderChoiceFromDto(choice, dto);
         DefenderChoice saved = defenderChoiceRepository.save(choice);
+        publishContentChanged();
         return convertToDefenderChoiceDto(saved);
     }
 
     @Transactional
     public void deleteDefenderChoice(Long id) {
         defenderChoiceRepository.deleteById(id);
+        publishContentChanged();
+    }
+
+    // ========== BULK IMPORT / EXPORT ==========
+
+    /**
+     * Writes the given levels (all levels if none are given) as a content
+     * bundle, the same format DataInitializer seeds from. Each level is written
+     * from a handful of ordered queries and defender choices are streamed from
+     * the database, so only one choice at a time is held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportLevels(List<Long> levelIds, OutputStream out) throws IOException {
+        List<Level> levels;
+        if (levelIds == null || levelIds.isEmpty()) {
+            levels = levelRepository.findAllByOrderByOrderIndexAsc();
+        } else {
+            levels = new ArrayList<>(levelRepository.findAllById(levelIds));
+            levels.sort(Comparator.comparingInt(Level::getOrderIndex));
+        }
+
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeNumberField("formatVersion", CONTENT_BUNDLE_FORMAT);
+        generator.writeArrayFieldStart("levels");
+        for (Level level : levels) {
+            writeLevel(generator, level);
+            generator.flush();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    /**
+     * Imports every level of a content bundle in one transaction while reading
+     * it as a stream. Levels, profiles, scenarios and options are persisted as
+     * they are read; defender choices, the bulk of any level, never enter the
+     * persistence context and are written with batched JDBC inserts.
+     */
+    @Transactional
+    public List<LevelDto> importLevels(InputStream in) throws IOException {
+        List<LevelDto> imported = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new GameException("Invalid content bundle: expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("levels".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        imported.add(importLevel(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        publishContentChanged();
+        return imported;
+    }
+
+    // Gameplay reads are served from ContentGraphCache, which rebuilds after commit
+    private void publishContentChanged() {
+        eventPublisher.publishEvent(new ContentChangedEvent("level-editor"));
     }
 
     // ========== CONVERSION HELPERS ==========
@@ -338,4 +547,203 @@ public class LevelEditorService {
         choice.setChoiceType(dto.getChoiceType());
         choice.setEducationalNote(dto.getEducationalNote());
     }
+
+    // ========== STREAMING HELPERS ==========
+
+    private void writeLevel(JsonGenerator generator, Level level) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", level.getId());
+        generator.writeStringField("name", level.getName());
+        generator.writeStringField("description", level.getDescription());
+        generator.writeStringField("difficulty", level.getDifficulty());
+        generator.writeBooleanField("enabled", level.isEnabled());
+        generator.writeNumberField("orderIndex", level.getOrderIndex());
+        generator.writeNumberField("maxAttacks", level.getMaxAttacks());
+
+        generator.writeArrayFieldStart("defenderProfiles");
+        for (DefenderProfile profile : defenderProfileRepository.findByLevelIdOrderByIdAsc(level.getId())) {
+            generator.writeObject(convertToDefenderProfileDto(profile));
+        }
+        generator.writeEndArray();
+
+        // Scenarios, options and choices all come back in (scenario, option, id)
+        // order, so the tree is assembled by walking the three in step
+        List<AttackOption> options = attackOptionRepository.findByLevelIdOrderByScenarioAndId(level.getId());
+        int nextOption = 0;
+        try (Stream<DefenderChoice> choiceStream = defenderChoiceRepository.streamByLevelId(level.getId())) {
+            Iterator<DefenderChoice> choices = choiceStream.iterator();
+            DefenderChoice pendingChoice = choices.hasNext() ? choices.next() : null;
+
+            generator.writeArrayFieldStart("attackScenarios");
+            for (AttackScenario scenario : attackScenarioRepository.findByLevelIdOrderByIdAsc(level.getId())) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", scenario.getId());
+                generator.writeStringField("attackType", scenario.getAttackType());
+                generator.writeStringField("name", scenario.getName());
+                generator.writeStringField("description", scenario.getDescription());
+                generator.writeStringField("attackerNarrative", scenario.getAttackerNarrative());
+
+                generator.writeArrayFieldStart("attackOptions");
+                while (nextOption < options.size()
+                        && scenario.getId().equals(options.get(nextOption).getAttackScenario().getId())) {
+                    AttackOption option = options.get(nextOption++);
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", option.getId());
+                    generator.writeStringField("label", option.getLabel());
+                    generator.writeStringField("description", option.getDescription());
+                    generator.writeStringField("attackerMessage", option.getAttackerMessage());
+                    generator.writeStringField("impersonatedEntity", option.getImpersonatedEntity());
+                    generator.writeNumberField("baseAttackerPoints", option.getBaseAttackerPoints());
+                    generator.writeNumberField("riskLevel", option.getRiskLevel());
+                    generator.writeBooleanField("criticalRisk", option.isCriticalRisk());
+
+                    generator.writeArrayFieldStart("defenderChoices");
+                    while (pendingChoice != null && option.getId().equals(pendingChoice.getAttackOption().getId())) {
+                        generator.writeObject(convertToDefenderChoiceDto(pendingChoice));
+                        entityManager.detach(pendingChoice);
+                        pendingChoice = choices.hasNext() ? choices.next() : null;
+                    }
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndObject();
+    }
+
+    // Child arrays may come before the remaining scalar fields; the parent is
+    // persisted when its first child array starts and later fields are picked
+    // up by dirty checking at commit
+    private LevelDto importLevel(JsonParser parser) throws IOException {
+        Level level = new Level();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> level.setName(parser.getValueAsString());
+                case "description" -> level.setDescription(parser.getValueAsString());
+                case "difficulty" -> level.setDifficulty(parser.getValueAsString());
+                case "enabled" -> level.setEnabled(parser.getValueAsBoolean());
+                case "orderIndex" -> level.setOrderIndex(parser.getValueAsInt());
+                case "maxAttacks" -> level.setMaxAttacks(parser.getValueAsInt() > 0 ? parser.getValueAsInt() : 5);
+                case "defenderProfiles" -> {
+                    level = persistIfNew(level);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        DefenderProfile profile = new DefenderProfile();
+                        updateDefenderProfileFromDto(profile, objectMapper.readValue(parser, DefenderProfileDto.class));
+                        profile.setLevel(level);
+                        defenderProfileRepository.save(profile);
+                    }
+                }
+                case "attackScenarios" -> {
+                    level = persistIfNew(level);
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        importAttackScenario(parser, level);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        level = persistIfNew(level);
+        LevelDto dto = convertToLevelDto(level);
+        dto.setDefenderProfiles(null);
+        dto.setAttackScenarios(null);
+        return dto;
+    }
+
+    private void importAttackScenario(JsonParser parser, Level level) throws IOException {
+        AttackScenario scenario = new AttackScenario();
+        scenario.setLevel(level);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "attackType" -> scenario.setAttackType(parser.getValueAsString());
+                case "name" -> scenario.setName(parser.getValueAsString());
+                case "description" -> scenario.setDescription(parser.getValueAsString());
+                case "attackerNarrative" -> scenario.setAttackerNarrative(parser.getValueAsString());
+                case "attackOptions" -> {
+                    if (scenario.getId() == null) {
+                        scenario = attackScenarioRepository.save(scenario);
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        importAttackOption(parser, scenario);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (scenario.getId() == null) {
+            attackScenarioRepository.save(scenario);
+        }
+    }
+
+    private void importAttackOption(JsonParser parser, AttackScenario scenario) throws IOException {
+        AttackOption option = new AttackOption();
+        option.setAttackScenario(scenario);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "label" -> option.setLabel(parser.getValueAsString());
+                case "description" -> option.setDescription(parser.getValueAsString());
+                case "attackerMessage" -> option.setAttackerMessage(parser.getValueAsString());
+                case "impersonatedEntity" -> option.setImpersonatedEntity(parser.getValueAsString());
+                case "baseAttackerPoints" -> option.setBaseAttackerPoints(parser.getValueAsInt());
+                case "riskLevel" -> option.setRiskLevel(parser.getValueAsInt());
+                case "criticalRisk" -> option.setCriticalRisk(parser.getValueAsBoolean());
+                case "defenderChoices" -> {
+                    if (option.getId() == null) {
+                        option = attackOptionRepository.save(option);
+                    }
+                    importDefenderChoices(parser, option.getId());
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (option.getId() == null) {
+            attackOptionRepository.save(option);
+        }
+    }
+
+    private void importDefenderChoices(JsonParser parser, Long attackOptionId) throws IOException {
+        List<Object[]> batch = new ArrayList<>(importBatchSize);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            DefenderChoiceDto choice = objectMapper.readValue(parser, DefenderChoiceDto.class);
+            batch.add(new Object[] {
+                    choice.getLabel(),
+                    choice.getDescription(),
+                    choice.getOutcome(),
+                    choice.getDefenderScoreDelta(),
+                    choice.getAttackerScoreDelta(),
+                    choice.getChoiceType(),
+                    choice.getEducationalNote(),
+                    attackOptionId });
+            if (batch.size() >= importBatchSize) {
+                insertDefenderChoices(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertDefenderChoices(batch);
+        }
+    }
+
+    // The attack option was just saved; with sequence ids (prod profile) its
+    // insert is still pending, so flush it before the rows that reference it
+    private void insertDefenderChoices(List<Object[]> batch) {
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT_DEFENDER_CHOICE, batch);
+    }
+
+    private Level persistIfNew(Level level) {
+        return level.getId() == null ? levelRepository.save(level) : level;
+    }
 }
@@ -0,0 +1,637 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.MatchEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only history of every match move, kept out of game_rooms. Game
+ * actions only queue an event; a scheduled flush encodes everything queued
+ * since the last one into a single frame and appends it to the current
+ * segment file in cyberwalk.match-log.directory. A new segment is started
+ * once the current one reaches cyberwalk.match-log.segment-size or
+ * cyberwalk.match-log.segment-max-age, and segments older than
+ * cyberwalk.match-log.retention are deleted.
+ *
+ * Segment layout: the magic "CWME" and a format version, then frames of
+ * [int length][int CRC32C][payload]. A payload is the frame's base time and
+ * record count followed by the records: a type byte, the room id, and the
+ * remaining fields as varints, times relative to the base. A typical move
+ * takes under 25 bytes. Readers stop at the first incomplete or corrupt
+ * frame, which is what a crash in the middle of a write leaves behind.
+ *
+ * A room's history is found through an in-memory index from room to the
+ * frames holding its events. Frames this node writes are indexed as they are
+ * written; segments from other nodes sharing the directory, or from before a
+ * restart, are indexed incrementally on the next read.
+ */
+@Service
+public class MatchEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchEventLog.class);
+
+    private static final int MAGIC = 0x43574D45; // "CWME"
+    private static final byte FORMAT_VERSION = 2;
+    private static final int SEGMENT_HEADER_BYTES = 5;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".cwlog";
+    private static final int MAX_EVENTS_PER_FRAME = 4096;
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+    private static final MatchEvent.Type[] TYPES = MatchEvent.Type.values();
+
+    @Value("${cyberwalk.match-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cyberwalk.match-log.directory:./data/match-log}")
+    private String directory;
+
+    @Value("${cyberwalk.match-log.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${cyberwalk.match-log.segment-max-age:1d}")
+    private Duration segmentMaxAge;
+
+    @Value("${cyberwalk.match-log.retention:30d}")
+    private Duration retention;
+
+    @Value("${cyberwalk.match-log.max-pending:100000}")
+    private int maxPending;
+
+    private final Queue<MatchEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    // Current segment, guarded by the flush lock
+    private FileChannel segment;
+    private Path segmentPath;
+    private long segmentBytes;
+    private long segmentOpenedAt;
+    private int segmentSequence;
+
+    // Room -> frames holding its events, and how far each segment is indexed; guarded by the flush lock
+    private final Map<RoomKey, List<FrameRef>> index = new HashMap<>();
+    private final Map<Path, SegmentIndex> indexedSegments = new HashMap<>();
+
+    // ========== WRITING ==========
+
+    /**
+     * Queues an event for the next flush. Never blocks a game action: if the
+     * log has fallen more than cyberwalk.match-log.max-pending events behind,
+     * the event is dropped and counted instead.
+     */
+    public void append(MatchEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            if (droppedCount.getAndIncrement() % 10_000 == 0) {
+                log.warn("Match event log is {} events behind, dropping events", maxPending);
+            }
+            return;
+        }
+        pending.offer(event);
+    }
+
+    @Scheduled(fixedDelayString = "${cyberwalk.match-log.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<MatchEvent> batch = new ArrayList<>();
+        MatchEvent event;
+        while ((event = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int from = 0; from < batch.size(); from += MAX_EVENTS_PER_FRAME) {
+                writeFrame(batch.subList(from, Math.min(from + MAX_EVENTS_PER_FRAME, batch.size())));
+            }
+        } catch (IOException e) {
+            // The segment may now end in a torn frame; continue in a fresh one
+            log.error("Could not append {} match events: {}", batch.size(), e.getMessage());
+            droppedCount.addAndGet(batch.size());
+            closeSegment();
+        }
+    }
+
+    /**
+     * Deletes segments not written to for cyberwalk.match-log.retention. Every
+     * node sharing the directory runs this, so a segment left behind by a node
+     * that is gone expires too.
+     */
+    @Scheduled(fixedDelayString = "${cyberwalk.match-log.retention-check-interval-ms:3600000}")
+    public synchronized int deleteExpiredSegments() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        int deleted = 0;
+        for (Path path : listSegments()) {
+            if (path.equals(segmentPath)) {
+                continue;
+            }
+            try {
+                if (Files.getLastModifiedTime(path).toMillis() < cutoff && Files.deleteIfExists(path)) {
+                    deleted++;
+                }
+            } catch (NoSuchFileException e) {
+                // Deleted by another node
+            } catch (IOException e) {
+                log.warn("Could not delete expired match log segment {}: {}", path, e.getMessage());
+                continue;
+            }
+            if (!Files.exists(path)) {
+                unindex(path);
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} match log segments older than {}", deleted, retention);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        flush();
+        closeSegment();
+    }
+
+    private void writeFrame(List<MatchEvent> events) throws IOException {
+        if (segment == null || segmentBytes >= segmentSize.toBytes()
+                || System.currentTimeMillis() - segmentOpenedAt >= segmentMaxAge.toMillis()) {
+            openSegment();
+        }
+        ByteBuffer payload = encode(events);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES)
+                .putInt(payload.remaining()).putInt((int) crc.getValue()).flip();
+
+        ByteBuffer[] frame = {header, payload};
+        long offset = segmentBytes;
+        long length = header.remaining() + payload.remaining();
+        while (payload.hasRemaining()) {
+            segment.write(frame);
+        }
+        segmentBytes += length;
+
+        SegmentIndex segmentIndex = indexedSegments.get(segmentPath);
+        for (MatchEvent event : events) {
+            addToIndex(segmentIndex, RoomKey.of(event), offset);
+        }
+        segmentIndex.indexedTo = segmentBytes;
+    }
+
+    private void openSegment() throws IOException {
+        closeSegment();
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        String name = String.format("match-%013d-%d-%04d%s", System.currentTimeMillis(),
+                ProcessHandle.current().pid(), ++segmentSequence, SEGMENT_SUFFIX);
+        Path path = dir.resolve(name);
+        segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(MAGIC).put(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segmentPath = path;
+        segmentBytes = header.limit();
+        segmentOpenedAt = System.currentTimeMillis();
+        indexedSegments.put(path, new SegmentIndex(path));
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.force(false);
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Could not close match log segment: {}", e.getMessage());
+        }
+        segment = null;
+        segmentPath = null;
+    }
+
+    // ========== READING ==========
+
+    /**
+     * Streams every recorded event, segment by segment in the order they were
+     * started, without loading a segment into memory. Events still waiting
+     * for a flush are not included. The stream holds a file open and must be
+     * closed.
+     */
+    public Stream<MatchEvent> read() {
+        return listSegments().stream().flatMap(MatchEventLog::readSegment);
+    }
+
+    /**
+     * One room's history in the order the moves were made, including events
+     * not flushed yet. Only the frames the index lists for the room are read.
+     * Segments from every node sharing the directory are included, so a room
+     * that moved between nodes is complete.
+     */
+    public List<MatchEvent> readRoom(String roomId, Instant roomCreatedAt) {
+        RoomKey key = new RoomKey(roomId, roomCreatedAt.toEpochMilli());
+        List<FrameRef> frames;
+        List<MatchEvent> events = new ArrayList<>();
+        synchronized (this) {
+            refreshIndex();
+            frames = new ArrayList<>(index.getOrDefault(key, List.of()));
+            // Queued events are taken under the flush lock, so none is missed or read twice
+            for (MatchEvent event : pending) {
+                if (key.matches(event)) {
+                    events.add(event);
+                }
+            }
+        }
+
+        Map<Path, List<FrameRef>> bySegment = frames.stream()
+                .collect(Collectors.groupingBy(FrameRef::segment, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<Path, List<FrameRef>> entry : bySegment.entrySet()) {
+            try (FileChannel channel = FileChannel.open(entry.getKey(), StandardOpenOption.READ)) {
+                for (FrameRef frame : entry.getValue()) {
+                    ByteBuffer payload = readFrame(channel, frame.offset());
+                    if (payload != null) {
+                        decode(payload, event -> {
+                            if (key.matches(event)) {
+                                events.add(event);
+                            }
+                        });
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // Expired and deleted since the index was read
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        events.sort(Comparator.comparing(MatchEvent::getOccurredAt));
+        return events;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // Indexes what was appended to any segment since the last call, and forgets deleted segments
+    private void refreshIndex() {
+        List<Path> onDisk = listSegments();
+        for (Path path : new ArrayList<>(indexedSegments.keySet())) {
+            if (!path.equals(segmentPath) && !onDisk.contains(path)) {
+                unindex(path);
+            }
+        }
+        for (Path path : onDisk) {
+            SegmentIndex segmentIndex = indexedSegments.computeIfAbsent(path, SegmentIndex::new);
+            if (!segmentIndex.complete && !path.equals(segmentPath)) {
+                indexSegment(segmentIndex);
+            }
+        }
+    }
+
+    private void indexSegment(SegmentIndex segmentIndex) {
+        try (FileChannel channel = FileChannel.open(segmentIndex.path, StandardOpenOption.READ)) {
+            if (segmentIndex.indexedTo == 0) {
+                ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+                if (!readFully(channel, header, 0)) {
+                    return;
+                }
+                if (header.flip().getInt() != MAGIC || header.get() != FORMAT_VERSION) {
+                    log.warn("Skipping {}: not a match log segment of this version", segmentIndex.path);
+                    segmentIndex.complete = true;
+                    return;
+                }
+                segmentIndex.indexedTo = SEGMENT_HEADER_BYTES;
+            }
+            while (segmentIndex.indexedTo < channel.size()) {
+                long offset = segmentIndex.indexedTo;
+                ByteBuffer payload = readFrame(channel, offset);
+                if (payload == null) {
+                    // Still being written by its node; the rest is indexed on a later read
+                    return;
+                }
+                int length = payload.remaining();
+                decode(payload, event -> addToIndex(segmentIndex, RoomKey.of(event), offset));
+                segmentIndex.indexedTo = offset + FRAME_HEADER_BYTES + length;
+            }
+        } catch (NoSuchFileException e) {
+            unindex(segmentIndex.path);
+        } catch (CorruptFrameException e) {
+            log.warn("Corrupt frame in {}, ignoring the rest of the segment", segmentIndex.path);
+            segmentIndex.complete = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void addToIndex(SegmentIndex segmentIndex, RoomKey key, long offset) {
+        List<FrameRef> frames = index.computeIfAbsent(key, k -> new ArrayList<>());
+        FrameRef last = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+        if (last == null || last.offset() != offset || !last.segment().equals(segmentIndex.path)) {
+            frames.add(new FrameRef(segmentIndex.path, offset));
+            segmentIndex.rooms.add(key);
+        }
+    }
+
+    private void unindex(Path path) {
+        SegmentIndex segmentIndex = indexedSegments.remove(path);
+        if (segmentIndex == null) {
+            return;
+        }
+        for (RoomKey key : segmentIndex.rooms) {
+            List<FrameRef> frames = index.get(key);
+            if (frames != null) {
+                frames.removeIf(frame -> frame.segment().equals(path));
+                if (frames.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * The checked payload of the frame at offset, or null if it is not
+     * completely written yet.
+     */
+    private static ByteBuffer readFrame(FileChannel channel, long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+        if (!readFully(channel, header, offset)) {
+            return null;
+        }
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length <= 0 || length > MAX_FRAME_BYTES) {
+            throw new CorruptFrameException();
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        if (!readFully(channel, payload, offset + FRAME_HEADER_BYTES)) {
+            return null;
+        }
+        payload.flip();
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new CorruptFrameException();
+        }
+        return payload;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Path> listSegments() {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Stream<MatchEvent> readSegment(Path path) {
+        SegmentReader reader;
+        try {
+            reader = new SegmentReader(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Spliterator<MatchEvent> events = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super MatchEvent> action) {
+                MatchEvent next = reader.next();
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(events, false).onClose(reader::close);
+    }
+
+    // A room code is reused after archival, so the creation time is part of the key
+    private record RoomKey(String roomId, long createdAtMillis) {
+
+        static RoomKey of(MatchEvent event) {
+            return new RoomKey(event.getRoomId(), event.getRoomCreatedAt().toEpochMilli());
+        }
+
+        boolean matches(MatchEvent event) {
+            return roomId.equals(event.getRoomId()) && createdAtMillis == event.getRoomCreatedAt().toEpochMilli();
+        }
+    }
+
+    private record FrameRef(Path segment, long offset) {
+    }
+
+    private static final class SegmentIndex {
+
+        private final Path path;
+        private final Set<RoomKey> rooms = new HashSet<>();
+        // 0 until the segment header has been checked
+        private long indexedTo;
+        private boolean complete;
+
+        SegmentIndex(Path path) {
+            this.path = path;
+        }
+    }
+
+    private static final class CorruptFrameException extends IOException {
+    }
+
+    /**
+     * Reads one segment a frame at a time. The segment being written can be
+     * read too: a frame that is only partly written yet reads as the end.
+     */
+    private static final class SegmentReader implements Closeable {
+
+        private final Path path;
+        private final DataInputStream in;
+        private final Deque<MatchEvent> frame = new ArrayDeque<>();
+        private boolean exhausted;
+
+        SegmentReader(Path path) throws IOException {
+            this.path = path;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+            try {
+                if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                    log.warn("Skipping {}: not a match log segment of this version", path);
+                    exhausted = true;
+                }
+            } catch (EOFException e) {
+                exhausted = true;
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        MatchEvent next() {
+            while (frame.isEmpty() && !exhausted) {
+                readFrame();
+            }
+            return frame.poll();
+        }
+
+        private void readFrame() {
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_FRAME_BYTES) {
+                    log.warn("Corrupt frame in {}, ignoring the rest of the segment", path);
+                    exhausted = true;
+                    return;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                CRC32C crc = new CRC32C();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Corrupt frame in {}, ignoring the rest of the segment", path);
+                    exhausted = true;
+                    return;
+                }
+                decode(ByteBuffer.wrap(payload), frame::add);
+            } catch (EOFException e) {
+                exhausted = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.warn("Could not close {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    // ========== ENCODING ==========
+
+    private static ByteBuffer encode(List<MatchEvent> events) {
+        long base = events.get(0).getOccurredAt().toEpochMilli();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events.size() * 28);
+        writeVarLong(out, base);
+        writeVarLong(out, events.size());
+        for (MatchEvent event : events) {
+            out.write(event.getType().ordinal());
+            byte[] roomId = event.getRoomId().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, roomId.length);
+            out.write(roomId, 0, roomId.length);
+            writeVarLong(out, zigZag(event.getRoomCreatedAt().toEpochMilli() - base));
+            // Events are queued by many threads, so times within a frame are not strictly ordered
+            writeVarLong(out, zigZag(event.getOccurredAt().toEpochMilli() - base));
+            writeVarLong(out, event.getSubjectId() == null ? 0 : event.getSubjectId() + 1);
+            writeVarLong(out, zigZag(event.getDefenderScoreDelta()));
+            writeVarLong(out, zigZag(event.getAttackerScoreDelta()));
+            writeVarLong(out, zigZag(event.getAttackerScore()));
+            writeVarLong(out, zigZag(event.getDefenderScore()));
+            writeVarLong(out, event.getAttacksPerformed());
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static void decode(ByteBuffer in, Consumer<MatchEvent> out) {
+        long base = readVarLong(in);
+        int count = (int) readVarLong(in);
+        for (int i = 0; i < count; i++) {
+            int type = in.get() & 0xFF;
+            byte[] roomId = new byte[(int) readVarLong(in)];
+            in.get(roomId);
+
+            MatchEvent event = new MatchEvent();
+            event.setRoomId(new String(roomId, StandardCharsets.UTF_8));
+            event.setRoomCreatedAt(Instant.ofEpochMilli(base + unZigZag(readVarLong(in))));
+            event.setOccurredAt(Instant.ofEpochMilli(base + unZigZag(readVarLong(in))));
+            long subjectId = readVarLong(in);
+            event.setSubjectId(subjectId == 0 ? null : subjectId - 1);
+            event.setDefenderScoreDelta((int) unZigZag(readVarLong(in)));
+            event.setAttackerScoreDelta((int) unZigZag(readVarLong(in)));
+            event.setAttackerScore((int) unZigZag(readVarLong(in)));
+            event.setDefenderScore((int) unZigZag(readVarLong(in)));
+            event.setAttacksPerformed((int) readVarLong(in));
+
+            // Types added by a newer version are skipped rather than misread
+            if (type < TYPES.length) {
+                event.setType(TYPES[type]);
+                out.accept(event);
+            }
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in match log");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,149 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.event.ClusterTopologyChangedEvent;
+import com.university.cyberwalk.repository.GameRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Hands out short room codes that are unique among the rooms in game_rooms.
+ *
+ * Codes use 31 characters without look-alikes (no 0/O, 1/I/L), so a 6
+ * character code has close to 900 million values. Every code in use is kept in an
+ * in-memory set, loaded once from game_rooms, so uniqueness is decided
+ * without a database round-trip. Codes are drawn in batches into a pool ahead
+ * of time and are already reserved while they wait there; createRoom just
+ * takes the next one. Codes of archived rooms are released back into the
+ * free space by {@link RoomLifecycleManager}.
+ *
+ * In cluster mode a node only hands out codes it owns on the hash ring, so
+ * nodes never issue the same code and every room is created on its owner.
+ */
+@Service
+public class RoomCodeAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomCodeAllocator.class);
+
+    private static final char[] ALPHABET = "23456789ABCDEFGHJKMNPQRSTUVWXYZ".toCharArray();
+
+    @Autowired
+    private GameRoomRepository gameRoomRepository;
+
+    @Value("${cyberwalk.rooms.code-length:6}")
+    private int codeLength;
+
+    @Value("${cyberwalk.rooms.code-pool-size:256}")
+    private int poolSize;
+
+    private final Set<String> reserved = ConcurrentHashMap.newKeySet();
+    private final Queue<String> pool = new ConcurrentLinkedQueue<>();
+
+    // Only used while refilling the pool, under the instance lock
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile boolean loaded;
+
+    // Which codes this node may issue; all of them unless clustered
+    private volatile Predicate<String> owned = code -> true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    /**
+     * Returns a code no other room holds. It stays reserved until
+     * {@link #release(String)} is called for it.
+     */
+    public String allocate() {
+        ensureLoaded();
+        String code = pool.poll();
+        while (code == null) {
+            refill();
+            code = pool.poll();
+        }
+        if (pool.size() < poolSize / 4) {
+            refill();
+        }
+        return code;
+    }
+
+    @EventListener
+    public void onClusterTopologyChanged(ClusterTopologyChangedEvent event) {
+        synchronized (this) {
+            owned = event::isLocal;
+            // Pooled codes that now belong to another node must not be issued here
+            pool.removeIf(code -> {
+                if (event.isLocal(code)) {
+                    return false;
+                }
+                reserved.remove(code);
+                return true;
+            });
+            // Pick up rooms other nodes created while they owned codes that are now ours
+            if (loaded) {
+                reserved.addAll(gameRoomRepository.findAllRoomIds());
+            }
+        }
+        ensureLoaded();
+        refill();
+    }
+
+    /** Frees the code of a room that was archived or never got created. */
+    public void release(String code) {
+        if (code != null) {
+            reserved.remove(code);
+        }
+    }
+
+    public int getReservedCount() {
+        return reserved.size();
+    }
+
+    public int getPoolSize() {
+        return pool.size();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reserved.addAll(gameRoomRepository.findAllRoomIds());
+                loaded = true;
+                refill();
+                log.info("Room codes: {} in use, {} pre-allocated", reserved.size() - pool.size(), pool.size());
+            }
+        }
+    }
+
+    private synchronized void refill() {
+        int missing = poolSize - pool.size();
+        char[] code = new char[codeLength];
+        for (int added = 0; added < missing; ) {
+            for (int i = 0; i < codeLength; i++) {
+                code[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            String candidate = new String(code);
+            if (owned.test(candidate) && reserved.add(candidate)) {
+                pool.add(candidate);
+                added++;
+            }
+        }
+    }
+}
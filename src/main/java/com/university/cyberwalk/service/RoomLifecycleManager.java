@@ -0,0 +1,165 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.RoomLifecycleStats;
+import com.university.cyberwalk.model.ArchivedGameRoom;
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.repository.ArchivedGameRoomRepository;
+import com.university.cyberwalk.repository.GameRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps game_rooms bounded. Every sweep:
+ *
+ * 1. evicts rooms idle for cyberwalk.rooms.idle-evict-after from
+ *    RoomStateEngine's memory (they stay in game_rooms and reload on access);
+ * 2. moves finished rooms idle for cyberwalk.rooms.archive-finished-after and
+ *    any room idle for cyberwalk.rooms.archive-abandoned-after into
+ *    game_room_history, one transaction per batch. Rooms still held in
+ *    memory are left for a later sweep, and in cluster mode only a room's
+ *    owner archives it. Their room codes are handed back to
+ *    RoomCodeAllocator once the batch has committed.
+ */
+@Service
+public class RoomLifecycleManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomLifecycleManager.class);
+
+    @Autowired
+    private RoomStateEngine roomStateEngine;
+
+    @Autowired
+    private GameRoomRepository gameRoomRepository;
+
+    @Autowired
+    private ArchivedGameRoomRepository archivedGameRoomRepository;
+
+    @Autowired
+    private RoomCodeAllocator roomCodeAllocator;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cyberwalk.rooms.idle-evict-after:10m}")
+    private Duration idleEvictAfter;
+
+    @Value("${cyberwalk.rooms.archive-finished-after:10m}")
+    private Duration archiveFinishedAfter;
+
+    @Value("${cyberwalk.rooms.archive-abandoned-after:2h}")
+    private Duration archiveAbandonedAfter;
+
+    @Value("${cyberwalk.rooms.archive-batch-size:200}")
+    private int archiveBatchSize;
+
+    private volatile long idleRooms;
+    private volatile long archivedRooms;
+    private volatile LocalDateTime lastSweepAt;
+
+    @Scheduled(initialDelayString = "${cyberwalk.rooms.lifecycle-interval-ms:60000}",
+            fixedDelayString = "${cyberwalk.rooms.lifecycle-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int evicted = roomStateEngine.evictIdle(now.minus(idleEvictAfter));
+        int archived = archiveRooms(now.minus(archiveFinishedAfter), now.minus(archiveAbandonedAfter));
+
+        idleRooms = Math.max(0, gameRoomRepository.count() - roomStateEngine.getCachedRoomCount());
+        archivedRooms = archivedGameRoomRepository.count();
+        lastSweepAt = now;
+
+        if (evicted > 0 || archived > 0) {
+            log.info("Room sweep: evicted {} idle rooms from memory, archived {} rooms", evicted, archived);
+        }
+    }
+
+    public RoomLifecycleStats getStats() {
+        return new RoomLifecycleStats(getActiveRooms(), idleRooms, archivedRooms, lastSweepAt);
+    }
+
+    public long getActiveRooms() {
+        return roomStateEngine.getCachedRoomCount();
+    }
+
+    // As of the last sweep; counting game_rooms on every scrape is not worth it
+    public long getIdleRooms() {
+        return idleRooms;
+    }
+
+    public long getArchivedRooms() {
+        return archivedRooms;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private int archiveRooms(LocalDateTime finishedBefore, LocalDateTime abandonedBefore) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<GameRoom> candidates = gameRoomRepository.findArchivable(afterId,
+                    GameRoom.RoomStatus.ROUND_OVER, GameRoom.GamePhase.GAME_OVER,
+                    finishedBefore, abandonedBefore, PageRequest.of(0, archiveBatchSize));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            afterId = candidates.get(candidates.size() - 1).getId();
+
+            List<GameRoom> batch = candidates.stream()
+                    .filter(room -> clusterMembership.isLocal(room.getRoomId()))
+                    .filter(room -> !roomStateEngine.isCached(room.getRoomId()))
+                    .collect(Collectors.toList());
+            if (!batch.isEmpty()) {
+                LocalDateTime archivedAt = LocalDateTime.now();
+                transaction.executeWithoutResult(status -> {
+                    archivedGameRoomRepository.saveAll(batch.stream()
+                            .map(room -> toArchive(room, archivedAt))
+                            .collect(Collectors.toList()));
+                    gameRoomRepository.deleteAllByIdInBatch(batch.stream()
+                            .map(GameRoom::getId)
+                            .collect(Collectors.toList()));
+                });
+                batch.forEach(room -> roomCodeAllocator.release(room.getRoomId()));
+                archived += batch.size();
+            }
+
+            if (candidates.size() < archiveBatchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private ArchivedGameRoom toArchive(GameRoom room, LocalDateTime archivedAt) {
+        ArchivedGameRoom archive = new ArchivedGameRoom();
+        archive.setRoomId(room.getRoomId());
+        archive.setFinalStatus(room.getStatus());
+        archive.setFinalPhase(room.getGamePhase());
+        archive.setLevelId(room.getCurrentLevelId());
+        archive.setLevelName(room.getCurrentLevelName());
+        archive.setAttackerScore(room.getAttackerScore());
+        archive.setDefenderScore(room.getDefenderScore());
+        archive.setAttacksPerformed(room.getAttacksPerformed());
+        archive.setRoundsPlayed(room.getCurrentRound());
+        archive.setCreatedAt(room.getCreatedAt());
+        archive.setLastActivityAt(room.getLastActivityAt());
+        archive.setArchivedAt(archivedAt);
+        return archive;
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.cyberwalk.service;
+
+import java.util.SortedSet;
+
+/**
+ * Immutable view of which node owns each room, as published by
+ * ClusterMembership.
+ *
+ * Nodes see a topology change at their own next heartbeat, so right after
+ * this node gains rooms from a node that is still live, that node may not
+ * know yet and keep serving them. For cyberwalk.cluster.node-timeout after
+ * the change, such rooms are therefore still owned by their previous owner:
+ * this node routes them there and neither serves nor creates them. Rooms
+ * gained from a node that left or timed out move at once.
+ */
+public final class RoomOwnership {
+
+    private final HashRing ring;
+    private final String selfUrl;
+    // Ring the handover is from, and when it ends; null once settled
+    private final HashRing previous;
+    private final long handoverUntilMillis;
+
+    public RoomOwnership(HashRing ring, String selfUrl) {
+        this(ring, selfUrl, null, 0);
+    }
+
+    public RoomOwnership(HashRing ring, String selfUrl, HashRing previous, long handoverUntilMillis) {
+        this.ring = ring;
+        this.selfUrl = selfUrl;
+        this.previous = previous == null || previous.isEmpty() ? null : previous;
+        this.handoverUntilMillis = handoverUntilMillis;
+    }
+
+    public String ownerOf(String roomId) {
+        if (ring.isEmpty()) {
+            return selfUrl;
+        }
+        String owner = ring.ownerOf(roomId);
+        if (previous != null && owner.equals(selfUrl) && System.currentTimeMillis() < handoverUntilMillis) {
+            String previousOwner = previous.ownerOf(roomId);
+            if (ring.getNodes().contains(previousOwner)) {
+                return previousOwner;
+            }
+        }
+        return owner;
+    }
+
+    public boolean isLocal(String roomId) {
+        return selfUrl.equals(ownerOf(roomId));
+    }
+
+    /** True once a handover has run its course and the ring alone decides. */
+    public boolean isHandoverOver(long nowMillis) {
+        return previous != null && nowMillis >= handoverUntilMillis;
+    }
+
+    public boolean isHandingOver() {
+        return previous != null;
+    }
+
+    public RoomOwnership settled() {
+        return new RoomOwnership(ring, selfUrl);
+    }
+
+    public HashRing getRing() {
+        return ring;
+    }
+
+    HashRing getPrevious() {
+        return previous;
+    }
+
+    public SortedSet<String> getNodes() {
+        return ring.getNodes();
+    }
+}
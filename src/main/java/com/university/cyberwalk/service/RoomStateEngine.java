@@ -0,0 +1,374 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.event.ClusterTopologyChangedEvent;
+import com.university.cyberwalk.event.GameStateChangedEvent;
+import com.university.cyberwalk.exception.InvalidPhaseException;
+import com.university.cyberwalk.exception.NotFoundException;
+import com.university.cyberwalk.exception.RoomBusyException;
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.repository.GameRoomRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Authoritative in-memory state for live game rooms.
+ *
+ * Each room is held in a slot whose state is an immutable-by-convention
+ * GameRoom published through an AtomicReference. Actions build a new state
+ * from a copy and install it with compare-and-set, retrying a bounded number
+ * of times if another action on the same room won the race. Nothing is ever
+ * applied twice and different rooms never contend.
+ *
+ * Changes are only marked dirty and written back to game_rooms in batches by
+ * {@link #flushDirtyRooms()}; the @Version column on GameRoom guards those
+ * writes. After a crash the database holds the state as of the last flush,
+ * and rooms are lazily reloaded from there on next access.
+ *
+ * Rooms idle for a while are evicted from memory by {@link #evictIdle}; an
+ * evicted slot is sealed with a tombstone so an action racing with the
+ * eviction retries against a freshly loaded slot instead of being lost.
+ *
+ * In cluster mode, rooms whose owner changes are flushed and handed off by
+ * {@link #handOff} the same way, and the new owner loads them from the
+ * database.
+ *
+ * Every applied action publishes a GameStateChangedEvent, so push and
+ * long-poll clients hear about a change whichever service made it.
+ *
+ * Callers always receive detached copies, never the live instance.
+ */
+@Service
+public class RoomStateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomStateEngine.class);
+
+    private static final int MAX_CAS_ATTEMPTS = 16;
+
+    // Installed in a slot when it is evicted; never handed out
+    private static final GameRoom EVICTED = new GameRoom();
+
+    @Autowired
+    private GameRoomRepository gameRoomRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, RoomSlot> slots = new ConcurrentHashMap<>();
+
+    // Shared across rooms so a room reloaded after eviction never reuses a
+    // state version a client may still hold; the epoch covers restarts
+    private final AtomicLong stateVersions = new AtomicLong();
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * Persists a brand new room immediately (so the unique roomId constraint is
+     * enforced by the database) and starts tracking it in memory.
+     */
+    public GameRoom register(GameRoom room) {
+        LocalDateTime now = LocalDateTime.now();
+        room.setCreatedAt(now);
+        room.setLastActivityAt(now);
+        GameRoom saved = gameRoomRepository.save(room);
+        saved.setStateVersion(stateVersions.incrementAndGet());
+        slots.put(saved.getRoomId(), new RoomSlot(copyOf(saved)));
+        return copyOf(saved);
+    }
+
+    public GameRoom snapshot(String roomId) {
+        return copyOf(live(roomId));
+    }
+
+    /**
+     * Current state version of the room, bumped on every applied action. Cheap
+     * enough to check on every poll: no copy and, for live rooms, no database.
+     */
+    public long stateVersion(String roomId) {
+        return live(roomId).getStateVersion();
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Applies an action to the room. The action runs against a working copy
+     * which is only installed if the room has not changed in the meantime; on a
+     * lost race the action is re-run against the new state. A failed
+     * validation therefore never leaves a half-applied room, and two racing
+     * clicks can never both apply on top of the same state. Listeners of the
+     * published GameStateChangedEvent run after the caller's transaction
+     * commits, or immediately outside one.
+     */
+    public GameRoom update(String roomId, Consumer<GameRoom> action) {
+        RoomSlot slot = slot(roomId);
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            GameRoom current = slot.room.get();
+            if (current == EVICTED) {
+                slot = slot(roomId);
+                continue;
+            }
+            GameRoom working = copyOf(current);
+            action.accept(working);
+            working.setStateVersion(stateVersions.incrementAndGet());
+            working.setLastActivityAt(LocalDateTime.now());
+            // Marked before the CAS so evictIdle never seals a slot whose new
+            // state is not yet dirty, and again after it because a flush may
+            // have cleared the flag in between
+            slot.dirty = true;
+            if (slot.room.compareAndSet(current, working)) {
+                slot.dirty = true;
+                eventPublisher.publishEvent(new GameStateChangedEvent(roomId));
+                return copyOf(working);
+            }
+        }
+        throw RoomBusyException.INSTANCE;
+    }
+
+    /**
+     * Phase-guarded transition: the action is only applied while the room is in
+     * {@code expectedPhase}. If a concurrent action already moved the room on,
+     * the retry sees the new phase and the request is rejected instead of being
+     * applied a second time.
+     */
+    public GameRoom transition(String roomId, GameRoom.GamePhase expectedPhase, Consumer<GameRoom> action) {
+        return update(roomId, room -> {
+            if (room.getGamePhase() != expectedPhase) {
+                throw new InvalidPhaseException("Invalid phase: expected " + expectedPhase
+                        + " but room is in " + room.getGamePhase());
+            }
+            action.accept(room);
+        });
+    }
+
+    /**
+     * Write-behind cycle: collects every dirty room and saves them in a single
+     * batched transaction. If the batch fails, rooms are retried one by one so a
+     * single bad row cannot block the others; a room whose version no longer
+     * matches the database was written elsewhere and is dropped from memory so
+     * the next access reloads it.
+     */
+    @Scheduled(fixedDelayString = "${cyberwalk.rooms.flush-interval-ms:250}")
+    public synchronized void flushDirtyRooms() {
+        List<GameRoom> batch = new ArrayList<>();
+        for (RoomSlot slot : slots.values()) {
+            if (slot.dirty) {
+                // Clear first: an update racing with us re-marks the slot and is
+                // picked up by the next cycle
+                slot.dirty = false;
+                GameRoom current = slot.room.get();
+                if (current != EVICTED) {
+                    batch.add(copyOf(current));
+                }
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            gameRoomRepository.saveAll(batch).forEach(this::applyPersistedVersion);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch flush of {} rooms failed, retrying individually: {}",
+                    batch.size(), batchFailure.getMessage());
+            for (GameRoom room : batch) {
+                flushSingle(room);
+            }
+        }
+    }
+
+    /**
+     * Drops clean rooms with no activity since {@code idleSince} from memory;
+     * the next access reloads them from the database. Runs under the flush
+     * lock so a room is never evicted between clearing its dirty flag and
+     * saving it.
+     */
+    public synchronized int evictIdle(LocalDateTime idleSince) {
+        int evicted = 0;
+        for (Map.Entry<String, RoomSlot> entry : slots.entrySet()) {
+            RoomSlot slot = entry.getValue();
+            GameRoom current = slot.room.get();
+            // Read the state before the flag: update() marks the slot dirty
+            // before installing a new state
+            if (current == EVICTED || slot.dirty || !isIdle(current, idleSince)) {
+                continue;
+            }
+            if (slot.room.compareAndSet(current, EVICTED)) {
+                slots.remove(entry.getKey(), slot);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @EventListener
+    public void onClusterTopologyChanged(ClusterTopologyChangedEvent event) {
+        int handedOff = handOff(event::isLocal);
+        if (handedOff > 0) {
+            log.info("Handed off {} rooms now owned by other nodes", handedOff);
+        }
+    }
+
+    /**
+     * Saves and drops every room for which {@code keep} is false, dirty or
+     * not, so its new owner loads the latest state from the database.
+     */
+    public synchronized int handOff(Predicate<String> keep) {
+        int handedOff = 0;
+        for (Map.Entry<String, RoomSlot> entry : slots.entrySet()) {
+            if (keep.test(entry.getKey())) {
+                continue;
+            }
+            RoomSlot slot = entry.getValue();
+            for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+                GameRoom current = slot.room.get();
+                if (current == EVICTED) {
+                    break;
+                }
+                // Same order as evictIdle: state first, then the flag
+                if (slot.dirty) {
+                    slot.dirty = false;
+                    flushSingle(copyOf(current));
+                    continue;
+                }
+                if (slot.room.compareAndSet(current, EVICTED)) {
+                    slots.remove(entry.getKey(), slot);
+                    handedOff++;
+                    break;
+                }
+            }
+        }
+        return handedOff;
+    }
+
+    public boolean isCached(String roomId) {
+        return slots.containsKey(roomId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyRooms();
+    }
+
+    public int getCachedRoomCount() {
+        return slots.size();
+    }
+
+    public long getDirtyRoomCount() {
+        return slots.values().stream().filter(slot -> slot.dirty).count();
+    }
+
+    public long countByStatus(GameRoom.RoomStatus status) {
+        return slots.values().stream()
+                .map(slot -> slot.room.get())
+                .filter(room -> room != EVICTED && room.getStatus() == status)
+                .count();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void flushSingle(GameRoom room) {
+        try {
+            applyPersistedVersion(gameRoomRepository.save(room));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Room {} was modified elsewhere, reloading from database", room.getRoomId());
+            // Seal before removing, as in evictIdle: an update still holding
+            // this slot fails its CAS and retries against the reloaded room
+            RoomSlot slot = slots.get(room.getRoomId());
+            if (slot != null) {
+                slot.room.set(EVICTED);
+                slots.remove(room.getRoomId(), slot);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush room {}, will retry: {}", room.getRoomId(), e.getMessage());
+            RoomSlot slot = slots.get(room.getRoomId());
+            if (slot != null) {
+                slot.dirty = true;
+            }
+        }
+    }
+
+    // Carry the version assigned by the database back into the live state so
+    // the next flush of this room is not rejected as stale
+    private void applyPersistedVersion(GameRoom persisted) {
+        RoomSlot slot = slots.get(persisted.getRoomId());
+        if (slot == null) {
+            return;
+        }
+        while (true) {
+            GameRoom current = slot.room.get();
+            if (current == EVICTED) {
+                return;
+            }
+            GameRoom versioned = copyOf(current);
+            versioned.setVersion(persisted.getVersion());
+            if (slot.room.compareAndSet(current, versioned)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isIdle(GameRoom room, LocalDateTime idleSince) {
+        return room.getLastActivityAt() == null || room.getLastActivityAt().isBefore(idleSince);
+    }
+
+    // Current state of the room, re-resolving the slot if it was just evicted
+    private GameRoom live(String roomId) {
+        while (true) {
+            GameRoom current = slot(roomId).room.get();
+            if (current != EVICTED) {
+                return current;
+            }
+        }
+    }
+
+    private RoomSlot slot(String roomId) {
+        RoomSlot slot = slots.get(roomId);
+        if (slot != null) {
+            return slot;
+        }
+
+        GameRoom room = gameRoomRepository.findByRoomId(roomId)
+                .orElseThrow(() -> NotFoundException.ROOM);
+
+        // Another request may have loaded the same room concurrently; keep the first one
+        GameRoom loadedRoom = copyOf(room);
+        loadedRoom.setStateVersion(stateVersions.incrementAndGet());
+        RoomSlot loaded = new RoomSlot(loadedRoom);
+        RoomSlot existing = slots.putIfAbsent(roomId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private GameRoom copyOf(GameRoom source) {
+        GameRoom copy = new GameRoom();
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private static class RoomSlot {
+        private final AtomicReference<GameRoom> room;
+        private volatile boolean dirty;
+
+        RoomSlot(GameRoom room) {
+            this.room = new AtomicReference<>(room);
+        }
+    }
+}
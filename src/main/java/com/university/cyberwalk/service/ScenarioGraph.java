@@ -0,0 +1,84 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.PrefetchManifest;
+import com.university.cyberwalk.dto.ScenarioResponse;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable index of the legacy video scene tree (Scenario -> Option ->
+ * targetVideoId), keyed by videoId.
+ *
+ * Built in one pass by {@link ScenarioService} together with reverse edges,
+ * leaf flags, prefetch manifests and the problems found while validating the
+ * tree, and replaced as a whole when content changes.
+ */
+public final class ScenarioGraph {
+
+    private final long version;
+    private final long buildTimeMillis;
+
+    private final List<ScenarioResponse> scenarios;
+    private final Map<String, ScenarioResponse> scenariosByVideoId;
+    private final Map<String, List<String>> predecessors;
+    private final Set<String> leaves;
+    private final Map<String, PrefetchManifest> prefetchManifests;
+    private final List<String> problems;
+
+    ScenarioGraph(long version,
+            long buildTimeMillis,
+            List<ScenarioResponse> scenarios,
+            Map<String, ScenarioResponse> scenariosByVideoId,
+            Map<String, List<String>> predecessors,
+            Set<String> leaves,
+            Map<String, PrefetchManifest> prefetchManifests,
+            List<String> problems) {
+        this.version = version;
+        this.buildTimeMillis = buildTimeMillis;
+        this.scenarios = Collections.unmodifiableList(scenarios);
+        this.scenariosByVideoId = Collections.unmodifiableMap(scenariosByVideoId);
+        this.predecessors = Collections.unmodifiableMap(predecessors);
+        this.leaves = Collections.unmodifiableSet(leaves);
+        this.prefetchManifests = Collections.unmodifiableMap(prefetchManifests);
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBuildTimeMillis() {
+        return buildTimeMillis;
+    }
+
+    public List<ScenarioResponse> getScenarios() {
+        return scenarios;
+    }
+
+    public Optional<ScenarioResponse> findScenario(String videoId) {
+        return Optional.ofNullable(videoId != null ? scenariosByVideoId.get(videoId) : null);
+    }
+
+    public Optional<PrefetchManifest> findPrefetchManifest(String videoId) {
+        return Optional.ofNullable(videoId != null ? prefetchManifests.get(videoId) : null);
+    }
+
+    /** Scenes with an option or nextScenarioId leading to {@code videoId}. */
+    public List<String> getPredecessors(String videoId) {
+        return predecessors.getOrDefault(videoId, List.of());
+    }
+
+    /** True if no option and no nextScenarioId leads out of the scene. */
+    public boolean isLeaf(String videoId) {
+        return leaves.contains(videoId);
+    }
+
+    /** Dangling targets and unreachable scenes found when the graph was built. */
+    public List<String> getProblems() {
+        return problems;
+    }
+}
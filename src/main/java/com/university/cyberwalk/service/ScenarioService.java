@@ -1,37 +1,244 @@
 package com.university.cyberwalk.service;
 
 import com.university.cyberwalk.dto.OptionDto;
+import com.university.cyberwalk.dto.PrefetchManifest;
 import com.university.cyberwalk.dto.ScenarioResponse;
+import com.university.cyberwalk.exception.NotFoundException;
 import com.university.cyberwalk.model.Option;
 import com.university.cyberwalk.model.Scenario;
 import com.university.cyberwalk.repository.ScenarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Serves the legacy video scene tree from a {@link ScenarioGraph} built once
+ * the application is ready, so scene transitions never touch the database.
+ * Scenarios are only written by DataInitializer at startup, so the graph is
+ * never rebuilt afterwards.
+ */
 @Service
 public class ScenarioService {
 
+    private static final Logger log = LoggerFactory.getLogger(ScenarioService.class);
+
+    // Every session and room starts the tree here
+    private static final String START_VIDEO_ID = "1";
+
+    // How many scene transitions ahead the prefetch manifest looks
+    private static final int PREFETCH_DEPTH = 2;
+
     @Autowired
     private ScenarioRepository scenarioRepository;
 
-    public ScenarioResponse getScenarioByVideoId(String videoId) {
-        Scenario scenario = scenarioRepository.findByVideoId(videoId)
-                .orElseThrow(() -> new RuntimeException("Scenario not found for videoId: " + videoId));
+    @Autowired
+    private VideoStreamService videoStreamService;
 
-        return convertToResponse(scenario);
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    private volatile ScenarioGraph graph;
+
+    public ScenarioResponse getScenarioByVideoId(String videoId) {
+        return current().findScenario(videoId)
+                .orElseThrow(() -> new NotFoundException("Scenario not found for videoId: " + videoId));
     }
 
     public List<ScenarioResponse> getAllScenarios() {
-        return scenarioRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return current().getScenarios();
+    }
+
+    /**
+     * Videos the defender can reach from {@code videoId} within
+     * {@link #PREFETCH_DEPTH} transitions, so the client can warm them while
+     * the current clip plays instead of stalling after the choice.
+     */
+    public PrefetchManifest getPrefetchManifest(String videoId) {
+        return current().findPrefetchManifest(videoId)
+                .orElseThrow(() -> new NotFoundException("Scenario not found for videoId: " + videoId));
+    }
+
+    public ScenarioGraph current() {
+        ScenarioGraph current = graph;
+        if (current == null) {
+            current = buildIndex();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        buildIndex();
+    }
+
+    /**
+     * Loads all scenarios once and assembles a new immutable graph, reporting
+     * options or nextScenarioIds that point at missing scenes and scenes that
+     * cannot be reached from the start video.
+     */
+    private synchronized ScenarioGraph buildIndex() {
+        long start = System.nanoTime();
+
+        List<Scenario> entities = new ArrayList<>(scenarioRepository.findAll());
+        entities.sort(Comparator.comparing(Scenario::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, Scenario> byVideoId = new LinkedHashMap<>();
+        for (Scenario scenario : entities) {
+            byVideoId.put(scenario.getVideoId(), scenario);
+        }
+
+        List<ScenarioResponse> responses = new ArrayList<>();
+        Map<String, ScenarioResponse> responsesByVideoId = new HashMap<>();
+        Map<String, List<String>> predecessors = new HashMap<>();
+        Set<String> leaves = new HashSet<>();
+        List<String> problems = new ArrayList<>();
+
+        for (Scenario scenario : byVideoId.values()) {
+            ScenarioResponse response = convertToResponse(scenario);
+            responses.add(response);
+            responsesByVideoId.put(scenario.getVideoId(), response);
+
+            Map<String, String> successors = successors(scenario);
+            if (successors.isEmpty()) {
+                leaves.add(scenario.getVideoId());
+            }
+            successors.forEach((target, via) -> {
+                if (!byVideoId.containsKey(target)) {
+                    problems.add("Scene " + scenario.getVideoId() + " " + via + " targets missing scene " + target);
+                } else {
+                    predecessors.computeIfAbsent(target, k -> new ArrayList<>()).add(scenario.getVideoId());
+                }
+            });
+        }
+
+        if (!byVideoId.isEmpty()) {
+            if (!byVideoId.containsKey(START_VIDEO_ID)) {
+                problems.add("Start scene " + START_VIDEO_ID + " does not exist");
+            }
+            Set<String> reachable = reachableFrom(START_VIDEO_ID, byVideoId);
+            for (String videoId : byVideoId.keySet()) {
+                if (!reachable.contains(videoId)) {
+                    problems.add("Scene " + videoId + " is unreachable from scene " + START_VIDEO_ID);
+                }
+            }
+        }
+
+        Map<String, Long> videoSizes = new HashMap<>();
+        Map<String, PrefetchManifest> manifests = new HashMap<>();
+        for (Scenario scenario : byVideoId.values()) {
+            manifests.put(scenario.getVideoId(), buildPrefetchManifest(scenario, byVideoId, videoSizes));
+        }
+
+        Map<String, List<String>> frozenPredecessors = new HashMap<>();
+        predecessors.forEach((key, value) -> frozenPredecessors.put(key, Collections.unmodifiableList(value)));
+
+        long buildTimeMillis = (System.nanoTime() - start) / 1_000_000;
+        ScenarioGraph built = new ScenarioGraph(
+                versionCounter.incrementAndGet(),
+                buildTimeMillis,
+                responses,
+                responsesByVideoId,
+                frozenPredecessors,
+                leaves,
+                manifests,
+                problems);
+
+        graph = built;
+        log.info("Scenario graph v{} built in {} ms ({} scenes, {} leaves, {} problems)",
+                built.getVersion(), buildTimeMillis, responses.size(), leaves.size(), problems.size());
+        problems.forEach(problem -> log.warn("Scenario graph: {}", problem));
+        return built;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    // Outgoing edges of a scene: option targets first, then nextScenarioId
+    private static Map<String, String> successors(Scenario scenario) {
+        Map<String, String> successors = new LinkedHashMap<>();
+        if (scenario.getOptions() != null) {
+            for (Option option : scenario.getOptions()) {
+                if (option.getTargetVideoId() != null) {
+                    successors.putIfAbsent(option.getTargetVideoId(), "option");
+                }
+            }
+        }
+        if (scenario.getNextScenarioId() != null) {
+            successors.putIfAbsent(scenario.getNextScenarioId(), "next");
+        }
+        return successors;
+    }
+
+    private static Set<String> reachableFrom(String startVideoId, Map<String, Scenario> byVideoId) {
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        if (byVideoId.containsKey(startVideoId)) {
+            pending.add(startVideoId);
+            reachable.add(startVideoId);
+        }
+        while (!pending.isEmpty()) {
+            for (String target : successors(byVideoId.get(pending.poll())).keySet()) {
+                if (byVideoId.containsKey(target) && reachable.add(target)) {
+                    pending.add(target);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    // Breadth-first over option targets and nextScenarioId; a video reachable
+    // at several depths keeps its highest priority
+    private PrefetchManifest buildPrefetchManifest(Scenario origin, Map<String, Scenario> scenarios,
+            Map<String, Long> videoSizes) {
+        List<PrefetchManifest.Entry> entries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(origin.getVideoId());
+
+        List<Scenario> frontier = List.of(origin);
+        for (int depth = 1; depth <= PREFETCH_DEPTH && !frontier.isEmpty(); depth++) {
+            List<Scenario> next = new ArrayList<>();
+            for (Scenario scenario : frontier) {
+                for (Map.Entry<String, String> successor : successors(scenario).entrySet()) {
+                    Scenario target = scenarios.get(successor.getKey());
+                    if (target == null || !seen.add(target.getVideoId())) {
+                        continue;
+                    }
+                    entries.add(new PrefetchManifest.Entry(
+                            target.getVideoId(),
+                            target.getVideoPath(),
+                            videoSizes.computeIfAbsent(target.getVideoPath(), this::videoSize),
+                            depth,
+                            successor.getValue()));
+                    next.add(target);
+                }
+            }
+            frontier = next;
+        }
+
+        return new PrefetchManifest(origin.getVideoId(), Collections.unmodifiableList(entries));
+    }
+
+    private Long videoSize(String videoPath) {
+        if (videoPath == null) {
+            return null;
+        }
+        try {
+            return videoStreamService.resolve(videoPath.substring(videoPath.lastIndexOf('/') + 1))
+                    .map(VideoStreamService.VideoFile::length)
+                    .orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
     }
 
     private ScenarioResponse convertToResponse(Scenario scenario) {
-        List<OptionDto> optionDtos = scenario.getOptions().stream()
+        List<OptionDto> optionDtos = scenario.getOptions() == null ? List.of() : scenario.getOptions().stream()
                 .map(this::convertToOptionDto)
                 .collect(Collectors.toList());
 
@@ -43,7 +250,7 @@ public class ScenarioService {
                 scenario.getAttackType() != null ? scenario.getAttackType().name() : null,
                 scenario.isLeafNode(),
                 scenario.getNextScenarioId(),
-                optionDtos);
+                Collections.unmodifiableList(optionDtos));
     }
 
     private OptionDto convertToOptionDto(Option option) {
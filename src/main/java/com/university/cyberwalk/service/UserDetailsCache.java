@@ -0,0 +1,86 @@
+package com.university.cyberwalk.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, expiring cache of loaded users for DaoAuthenticationProvider, so a
+ * burst of logins does not hit app_users once per attempt. Entries expire
+ * after cyberwalk.security.user-cache.ttl and the least recently used ones are
+ * dropped beyond cyberwalk.security.user-cache.max-size; a TTL of 0 disables
+ * the cache.
+ *
+ * The provider retries against the database whenever a cached password does
+ * not match, so a stale entry can delay but never wrongly grant a login.
+ * Entries are copied in and out because ProviderManager erases the password
+ * of the principal it returns.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public UserDetailsCache(
+            @Value("${cyberwalk.security.user-cache.ttl:5m}") Duration ttl,
+            @Value("${cyberwalk.security.user-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        if (ttlNanos <= 0) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+                entries.remove(username);
+                entry = null;
+            }
+        }
+        return entry != null ? User.withUserDetails(entry.user).build() : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        Entry entry = new Entry(User.withUserDetails(user).build(), System.nanoTime());
+        synchronized (entries) {
+            entries.put(user.getUsername(), entry);
+        }
+    }
+
+    /** Called whenever a user's password or role changes. */
+    @Override
+    public void removeUserFromCache(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(UserDetails user, long loadedAt) {
+    }
+}
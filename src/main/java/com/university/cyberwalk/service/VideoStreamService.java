@@ -0,0 +1,132 @@
+package com.university.cyberwalk.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Resolves scenario videos (Scenario.videoPath = /video/{file}) and copies byte
+ * ranges of them to clients.
+ *
+ * Videos stored on the file system are transferred with
+ * FileChannel.transferTo, which the controller upgrades to Tomcat sendfile
+ * when the connector supports it; videos packaged inside the jar fall back to a
+ * plain stream copy. A per-node semaphore caps how many streams are copied
+ * concurrently so a burst of seeks cannot exhaust worker threads. Sendfile
+ * transfers hold no worker thread and are not counted.
+ */
+@Service
+public class VideoStreamService {
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${cyberwalk.video.location:classpath:/static/video/}")
+    private String videoLocation;
+
+    @Value("${cyberwalk.video.max-chunk-bytes:1048576}")
+    private long maxChunkBytes;
+
+    private final Semaphore streamPermits;
+
+    public VideoStreamService(@Value("${cyberwalk.video.max-concurrent-streams:64}") int maxConcurrentStreams) {
+        this.streamPermits = new Semaphore(maxConcurrentStreams);
+    }
+
+    public Optional<VideoFile> resolve(String fileName) throws IOException {
+        if (fileName == null || fileName.isBlank() || fileName.contains("..")
+                || fileName.contains("/") || fileName.contains("\\")) {
+            return Optional.empty();
+        }
+
+        String location = videoLocation.endsWith("/") ? videoLocation : videoLocation + "/";
+        Resource resource = resourceLoader.getResource(location + fileName);
+        if (!resource.exists() || !resource.isReadable()) {
+            return Optional.empty();
+        }
+
+        Path path = resource.isFile() ? resource.getFile().toPath() : null;
+        return Optional.of(new VideoFile(fileName, resource, path, resource.contentLength(), resource.lastModified()));
+    }
+
+    public long getMaxChunkBytes() {
+        return maxChunkBytes;
+    }
+
+    public boolean tryAcquireStream() {
+        return streamPermits.tryAcquire();
+    }
+
+    public void releaseStream() {
+        streamPermits.release();
+    }
+
+    public int getAvailableStreams() {
+        return streamPermits.availablePermits();
+    }
+
+    /**
+     * Copies {@code length} bytes starting at {@code start} to the target.
+     */
+    public void copyRange(VideoFile video, long start, long length, OutputStream target) throws IOException {
+        if (video.path() != null) {
+            transferRange(video.path(), start, length, Channels.newChannel(target));
+            return;
+        }
+
+        try (InputStream in = video.resource().getInputStream()) {
+            in.skipNBytes(start);
+            byte[] buffer = new byte[64 * 1024];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                target.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * Zero-copy where the target allows it (sockets, files); transferTo may
+     * move fewer bytes than asked, so loop until the range is done.
+     */
+    public static void transferRange(Path path, long start, long length, WritableByteChannel target)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    public record VideoFile(String fileName, Resource resource, Path path, long length, long lastModified) {
+
+        /** Strong validator, required for If-Range. */
+        public String etag() {
+            return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+}
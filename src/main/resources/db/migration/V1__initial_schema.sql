@@ -0,0 +1,184 @@
+-- CyberWalk schema for the prod profile (PostgreSQL, or H2 in PostgreSQL mode).
+-- Must match the entities: Hibernate runs with ddl-auto=validate.
+-- Sequences step by 50 to match the allocation size in META-INF/orm-prod.xml.
+
+-- ========== CONTENT ==========
+
+create sequence levels_seq start with 1 increment by 50;
+create sequence attack_scenarios_seq start with 1 increment by 50;
+create sequence attack_options_seq start with 1 increment by 50;
+create sequence scenarios_seq start with 1 increment by 50;
+create sequence options_seq start with 1 increment by 50;
+
+create table levels (
+    id bigint not null primary key,
+    name varchar(255) not null,
+    description varchar(2000),
+    difficulty varchar(255) not null,
+    enabled boolean not null,
+    order_index integer not null,
+    max_attacks integer not null,
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+-- Identity: LevelEditorService inserts profiles and choices with plain JDBC
+create table defender_profiles (
+    id bigint generated by default as identity primary key,
+    name varchar(255) not null,
+    description varchar(1000),
+    age integer not null,
+    age_group varchar(255),
+    occupation varchar(500),
+    tech_savviness varchar(255),
+    mental_state varchar(255),
+    financial_status varchar(255),
+    level_id bigint references levels (id),
+    avatar_icon varchar(255)
+);
+create index idx_defender_profiles_level_id on defender_profiles (level_id);
+
+create table attack_scenarios (
+    id bigint not null primary key,
+    attack_type varchar(255) not null,
+    name varchar(255) not null,
+    description varchar(2000),
+    attacker_narrative varchar(1000),
+    level_id bigint references levels (id)
+);
+create index idx_attack_scenarios_level_id on attack_scenarios (level_id);
+
+create table attack_options (
+    id bigint not null primary key,
+    label varchar(255) not null,
+    description varchar(1000),
+    attacker_message varchar(2000),
+    impersonated_entity varchar(500),
+    base_attacker_points integer not null,
+    risk_level integer not null,
+    is_critical_risk boolean not null,
+    attack_scenario_id bigint references attack_scenarios (id)
+);
+create index idx_attack_options_attack_scenario_id on attack_options (attack_scenario_id);
+
+create table defender_choices (
+    id bigint generated by default as identity primary key,
+    label varchar(255) not null,
+    description varchar(2000),
+    outcome varchar(2000),
+    defender_score_delta integer not null,
+    attacker_score_delta integer not null,
+    choice_type varchar(255),
+    educational_note varchar(1000),
+    attack_option_id bigint references attack_options (id)
+);
+create index idx_defender_choices_attack_option_id on defender_choices (attack_option_id);
+
+-- Legacy video scenarios
+create table scenarios (
+    id bigint not null primary key,
+    video_id varchar(255) not null unique,
+    video_path varchar(255) not null,
+    description varchar(1000),
+    attack_type varchar(255),
+    attacker_description varchar(1000),
+    is_leaf_node boolean not null,
+    next_scenario_id varchar(255)
+);
+
+create table options (
+    id bigint not null primary key,
+    label varchar(255) not null,
+    target_video_id varchar(255) not null,
+    defender_score_delta integer not null,
+    attacker_score_delta integer not null,
+    position varchar(255) not null,
+    interaction_type varchar(255) not null,
+    appear_time double precision,
+    scenario_id bigint not null references scenarios (id)
+);
+create index idx_options_scenario_id on options (scenario_id);
+
+-- ========== ROOMS ==========
+
+create sequence game_rooms_seq start with 1 increment by 50;
+create sequence game_room_history_seq start with 1 increment by 50;
+create sequence game_sessions_seq start with 1 increment by 50;
+
+create table game_rooms (
+    id bigint not null primary key,
+    room_id varchar(255) not null,
+    version bigint default 0 not null,
+    created_at timestamp(6),
+    last_activity_at timestamp(6),
+    attacker_session_id varchar(255),
+    defender_session_id varchar(255),
+    status varchar(255),
+    selected_attack_type varchar(255),
+    attacker_score integer not null,
+    defender_score integer not null,
+    current_video_id varchar(255),
+    current_level_id bigint,
+    current_defender_profile_id bigint,
+    current_attack_scenario_id bigint,
+    current_attack_option_id bigint,
+    current_level_name varchar(255),
+    current_level_max_attacks integer,
+    game_phase varchar(255),
+    is_attacker_turn boolean not null,
+    current_round integer not null,
+    max_rounds integer not null,
+    attacks_performed integer not null,
+    last_action_message varchar(1000),
+    last_outcome varchar(2000),
+    last_defender_score_delta integer,
+    last_attacker_score_delta integer
+);
+create unique index uk_game_rooms_room_id on game_rooms (room_id);
+create index idx_game_rooms_last_activity on game_rooms (last_activity_at);
+
+create table game_room_history (
+    id bigint not null primary key,
+    room_id varchar(255) not null,
+    final_status varchar(255),
+    final_phase varchar(255),
+    level_id bigint,
+    level_name varchar(255),
+    attacker_score integer not null,
+    defender_score integer not null,
+    attacks_performed integer not null,
+    rounds_played integer not null,
+    created_at timestamp(6),
+    last_activity_at timestamp(6),
+    archived_at timestamp(6)
+);
+create index idx_game_room_history_room_id on game_room_history (room_id);
+
+create table game_sessions (
+    id bigint not null primary key,
+    session_id varchar(255) not null,
+    current_score integer not null,
+    current_video_id varchar(255) not null,
+    start_time timestamp(6) not null,
+    last_updated timestamp(6),
+    is_completed boolean not null
+);
+create index idx_game_sessions_session_id on game_sessions (session_id);
+
+-- ========== USERS AND CLUSTER ==========
+
+create sequence app_users_seq start with 1 increment by 50;
+
+create table app_users (
+    id bigint not null primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    role varchar(255)
+);
+
+create table cluster_nodes (
+    node_url varchar(255) not null primary key,
+    started_at timestamp(6),
+    last_heartbeat_at timestamp(6)
+);
+create index idx_cluster_nodes_last_heartbeat_at on cluster_nodes (last_heartbeat_at);
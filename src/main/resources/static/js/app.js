@@ -418,6 +418,32 @@ function logMessage(msg) {
 
 // --- Defender Actions ---
 let currentScenarioOptions = [];
+let prefetchLinks = [];
+
+// Warm the clips one choice away while the current one plays, so the next
+// scene starts without a stall. Older hints are dropped on every scene change.
+async function prefetchNextClips(videoId) {
+  prefetchLinks.forEach((link) => link.remove());
+  prefetchLinks = [];
+  try {
+    const response = await fetch(`${API_BASE_URL}/scenarios/${videoId}/prefetch`);
+    if (!response.ok) return;
+    const manifest = await response.json();
+
+    (manifest.entries || [])
+      .filter((entry) => entry.priority === 1 && entry.sizeBytes !== null)
+      .forEach((entry) => {
+        const link = document.createElement("link");
+        link.rel = "prefetch";
+        link.as = "video";
+        link.href = entry.videoPath;
+        document.head.appendChild(link);
+        prefetchLinks.push(link);
+      });
+  } catch (e) {
+    console.log("Prefetch manifest unavailable", e);
+  }
+}
 
 async function loadScenarioForDefender(videoId) {
   if (!videoId) return;
@@ -436,6 +462,7 @@ async function loadScenarioForDefender(videoId) {
     currentScenarioOptions = scenario.options || [];
 
     videoElement.play().catch((e) => console.log("Auto-play blocked", e));
+    prefetchNextClips(videoId);
 
     // Handle Timed Options
     videoElement.ontimeupdate = () => {
@@ -275,6 +275,58 @@ async function deleteCurrentLevel() {
   }
 }
 
+// Copies the level with its whole tree on the server; the copy starts disabled
+async function cloneCurrentLevel() {
+  if (!currentLevelId) return;
+
+  try {
+    const response = await fetch(`${API_BASE}/${currentLevelId}/clone`, {
+      method: "POST",
+    });
+    if (!response.ok) {
+      throw new Error(`Clone failed: ${response.status}`);
+    }
+
+    const clone = await response.json();
+    await loadLevels();
+    selectLevel(clone.id);
+  } catch (error) {
+    console.error("Error cloning level:", error);
+    alert("Error cloning level");
+  }
+}
+
+// Downloads the whole level tree as a content bundle (see /api/levels/export)
+function exportCurrentLevel() {
+  if (!currentLevelId) return;
+  window.location.href = `${API_BASE}/export?ids=${currentLevelId}`;
+}
+
+// Uploads a content bundle; the server imports every level in one transaction
+async function importLevels(input) {
+  const file = input.files[0];
+  input.value = "";
+  if (!file) return;
+
+  try {
+    const response = await fetch(`${API_BASE}/import`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: file,
+    });
+    if (!response.ok) {
+      throw new Error(`Import failed: ${response.status}`);
+    }
+
+    const imported = await response.json();
+    alert(`Imported ${imported.length} level(s)`);
+    loadLevels();
+  } catch (error) {
+    console.error("Error importing levels:", error);
+    alert("Error importing levels");
+  }
+}
+
 // ========== DEFENDER PROFILES ==========
 
 function renderDefenderProfiles(profiles) {
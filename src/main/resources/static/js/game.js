@@ -10,7 +10,10 @@ let gameState = {
   currentProfileId: null,
   currentScenarioId: null,
   currentOptionId: null,
-  pollInterval: null,
+  longPollId: null,
+  longPollAbort: null,
+  eventSource: null,
+  stateETag: null,
   levels: [],
   profiles: [],
   scenarios: [],
@@ -37,29 +40,75 @@ function initGame(roomId, role) {
 }
 
 function startPolling() {
-  if (gameState.pollInterval) {
-    clearInterval(gameState.pollInterval);
+  stopPolling();
+
+  // Prefer the server-push stream; long polling is only a fallback
+  if (window.EventSource) {
+    openStateStream();
+  } else {
+    startLongPolling();
   }
-  gameState.pollInterval = setInterval(pollGameState, 1500);
   pollGameState(); // Initial poll
 }
 
 function stopPolling() {
-  if (gameState.pollInterval) {
-    clearInterval(gameState.pollInterval);
-    gameState.pollInterval = null;
+  stopLongPolling();
+  if (gameState.eventSource) {
+    gameState.eventSource.close();
+    gameState.eventSource = null;
+  }
+}
+
+let longPollGeneration = 0;
+
+function startLongPolling() {
+  if (gameState.longPollId) return;
+  const pollId = ++longPollGeneration;
+  gameState.longPollId = pollId;
+  longPollGameState(pollId);
+}
+
+function stopLongPolling() {
+  gameState.longPollId = null;
+  if (gameState.longPollAbort) {
+    gameState.longPollAbort.abort();
+    gameState.longPollAbort = null;
   }
 }
 
+function openStateStream() {
+  const source = new EventSource(`${GAME_API}/${gameState.roomId}/stream`);
+
+  source.addEventListener("state", (event) => {
+    updateGameUI(JSON.parse(event.data));
+  });
+
+  // Stream is live - no need to poll
+  source.onopen = () => stopLongPolling();
+
+  // EventSource reconnects on its own; long-poll in the meantime so the UI stays current
+  source.onerror = () => startLongPolling();
+
+  gameState.eventSource = source;
+}
+
 // ========== GAME STATE POLLING ==========
 
 async function pollGameState() {
   if (!gameState.roomId) return;
 
   try {
-    const response = await fetch(`${GAME_API}/${gameState.roomId}/state`);
-    if (!response.ok) return;
+    // Conditional poll: the server answers 304 when nothing has changed
+    const headers = gameState.stateETag
+      ? { "If-None-Match": gameState.stateETag }
+      : {};
+    const response = await fetch(`${GAME_API}/${gameState.roomId}/state`, {
+      headers,
+      cache: "no-store",
+    });
+    if (response.status === 304 || !response.ok) return;
 
+    gameState.stateETag = response.headers.get("ETag");
     const state = await response.json();
     updateGameUI(state);
   } catch (error) {
@@ -67,6 +116,36 @@ async function pollGameState() {
   }
 }
 
+// Parks on the server until the state moves past our last ETag (or ~25s
+// pass and we get a 304), then immediately asks again
+async function longPollGameState(pollId) {
+  while (gameState.longPollId === pollId && gameState.roomId) {
+    const controller = new AbortController();
+    gameState.longPollAbort = controller;
+
+    try {
+      const after = gameState.stateETag
+        ? `?after=${encodeURIComponent(gameState.stateETag)}`
+        : "";
+      const response = await fetch(
+        `${GAME_API}/${gameState.roomId}/state${after}`,
+        { cache: "no-store", signal: controller.signal },
+      );
+
+      if (response.ok) {
+        gameState.stateETag = response.headers.get("ETag");
+        updateGameUI(await response.json());
+      } else if (response.status !== 304) {
+        await new Promise((resolve) => setTimeout(resolve, 1500));
+      }
+    } catch (error) {
+      if (error.name === "AbortError") return;
+      console.error("Long poll error:", error);
+      await new Promise((resolve) => setTimeout(resolve, 1500));
+    }
+  }
+}
+
 function updateGameUI(state) {
   // Update scores
   updateScores(state);
@@ -917,7 +996,10 @@ function exitToLobby() {
     currentProfileId: null,
     currentScenarioId: null,
     currentOptionId: null,
-    pollInterval: null,
+    longPollId: null,
+    longPollAbort: null,
+    eventSource: null,
+    stateETag: null,
     levels: [],
     profiles: [],
     scenarios: [],
@@ -0,0 +1,209 @@
+package com.university.cyberwalk.config;
+
+import com.sun.net.httpserver.HttpServer;
+import com.university.cyberwalk.model.ClusterNode;
+import com.university.cyberwalk.repository.ClusterNodeRepository;
+import com.university.cyberwalk.service.AuthTokenService;
+import com.university.cyberwalk.service.ClusterMembership;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Forwarding to a room's owner, played by a stub HTTP server that joins the
+ * ring through a cluster_nodes row.
+ */
+@SpringBootTest(properties = {
+        "cyberwalk.cluster.enabled=true",
+        "cyberwalk.security.stateless=true",
+        "cyberwalk.cluster.self-url=http://self.invalid"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RoomRoutingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ClusterNodeRepository clusterNodeRepository;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    private HttpServer owner;
+    private String ownerUrl;
+    private String authorization;
+    private final CountDownLatch releaseResponse = new CountDownLatch(1);
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void startOwner() throws Exception {
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/api/game/", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            try {
+                // Holds the response like a parked long-poll
+                releaseResponse.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String forwardedBy = exchange.getRequestHeaders().getFirst(RoomRoutingFilter.FORWARDED_BY_HEADER);
+            byte[] body = ("{\"forwardedBy\":\"" + forwardedBy + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+        joinRing(ownerUrl);
+
+        authorization = "Bearer " + authTokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "player", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @AfterEach
+    void stopOwner() {
+        releaseResponse.countDown();
+        owner.stop(0);
+        clusterNodeRepository.deleteById(ownerUrl);
+        clusterMembership.heartbeat();
+    }
+
+    @Test
+    void forwardReleasesTheServletThreadAndStreamsTheOwnersResponse() throws Exception {
+        String roomId = roomOwnedBy(ownerUrl);
+
+        // perform() returns while the owner still holds the response
+        MvcResult result = mockMvc.perform(get("/api/game/{roomId}/state", roomId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+
+        releaseResponse.countDown();
+        MockHttpServletResponse response = awaitCompletion(result);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"forwardedBy\":\"http://self.invalid\"}");
+    }
+
+    @Test
+    void unreachableOwnerAnswers503() throws Exception {
+        String roomId = roomOwnedBy(ownerUrl);
+        owner.stop(0);
+
+        MvcResult result = mockMvc.perform(get("/api/game/{roomId}/state", roomId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn();
+        MockHttpServletResponse response = awaitCompletion(result);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void requestForwardedToANodeThatIsNotTheOwnerEither() throws Exception {
+        String roomId = roomOwnedBy(ownerUrl);
+
+        // Served neither here nor bounced back to the owner: the views converge within a heartbeat
+        MvcResult result = mockMvc.perform(get("/api/game/{roomId}/state", roomId)
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(RoomRoutingFilter.FORWARDED_BY_HEADER, ownerUrl))
+                .andExpect(request().asyncNotStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(503);
+        assertThat(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void redirectedRequestThatMissesTheOwnerAnswers503() throws Exception {
+        String roomId = roomOwnedBy(ownerUrl);
+
+        MvcResult result = mockMvc.perform(get("/api/game/{roomId}/state", roomId)
+                        .queryParam(RoomRoutingFilter.REDIRECTED_BY_PARAM, ownerUrl)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncNotStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void formBodyIsForwardedAndNotReadForTheRedirectMarker() throws Exception {
+        String roomId = roomOwnedBy(ownerUrl);
+        String form = RoomRoutingFilter.REDIRECTED_BY_PARAM + "=form-field&choice=1";
+
+        MvcResult result = mockMvc.perform(post("/api/game/{roomId}/next-round", roomId)
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .content(form)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        releaseResponse.countDown();
+        MockHttpServletResponse response = awaitCompletion(result);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(receivedBody.get()).isEqualTo(form);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void joinRing(String nodeUrl) {
+        ClusterNode node = new ClusterNode();
+        node.setNodeUrl(nodeUrl);
+        node.setStartedAt(LocalDateTime.now());
+        // Far ahead, so the stub stays live without heartbeating
+        node.setLastHeartbeatAt(LocalDateTime.now().plusHours(1));
+        clusterNodeRepository.save(node);
+        clusterMembership.heartbeat();
+        assertThat(clusterMembership.getNodes()).contains(nodeUrl);
+    }
+
+    private String roomOwnedBy(String nodeUrl) {
+        for (int i = 0; ; i++) {
+            String roomId = "R" + i;
+            if (clusterMembership.ownerOf(roomId).equals(nodeUrl)) {
+                return roomId;
+            }
+        }
+    }
+
+    private static MockHttpServletResponse awaitCompletion(MvcResult result) throws InterruptedException {
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (result.getRequest().isAsyncStarted() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.getRequest().isAsyncStarted()).as("forwarded request completed").isFalse();
+        return response;
+    }
+}
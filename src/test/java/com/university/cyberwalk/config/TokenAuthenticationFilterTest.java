@@ -0,0 +1,57 @@
+package com.university.cyberwalk.config;
+
+import com.university.cyberwalk.service.AuthTokenService;
+import com.university.cyberwalk.service.GameRoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Stateless mode: a long-poll that completes is dispatched back through the
+ * security chain with no session, so the token must be checked again.
+ */
+@SpringBootTest(properties = "cyberwalk.security.stateless=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+
+    @Test
+    void completedLongPollIsAuthenticatedOnAsyncDispatch() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        String token = authTokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "player", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // A stale tag completes the poll straight away
+        MvcResult poll = mockMvc.perform(get("/api/game/{roomId}/state", roomId)
+                        .param("after", "stale")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roomId").value(roomId));
+    }
+}
@@ -0,0 +1,87 @@
+package com.university.cyberwalk.controller;
+
+import com.university.cyberwalk.service.VideoStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Stream permits: a copied stream needs one, a sendfile transfer (which
+ * outlives the request thread) does not.
+ */
+@SpringBootTest(properties = {
+        "cyberwalk.video.location=file:target/video-test/",
+        "cyberwalk.video.max-concurrent-streams=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class VideoStreamControllerTest {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VideoStreamService videoStreamService;
+
+    private boolean permitHeld;
+
+    @BeforeAll
+    static void createVideo() throws Exception {
+        Path directory = Files.createDirectories(Paths.get("target/video-test"));
+        Files.write(directory.resolve("clip.mp4"), new byte[4096]);
+    }
+
+    @AfterEach
+    void releasePermit() {
+        if (permitHeld) {
+            videoStreamService.releaseStream();
+        }
+    }
+
+    @Test
+    void copiedStreamReleasesItsPermit() throws Exception {
+        mockMvc.perform(get("/video/clip.mp4")).andExpect(status().isOk());
+
+        assertThat(videoStreamService.getAvailableStreams()).isEqualTo(1);
+    }
+
+    @Test
+    void copiedStreamIsRefusedWhenNoPermitIsLeft() throws Exception {
+        permitHeld = videoStreamService.tryAcquireStream();
+
+        mockMvc.perform(get("/video/clip.mp4")).andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void sendfileTakesNoPermit() throws Exception {
+        permitHeld = videoStreamService.tryAcquireStream();
+
+        MvcResult result = mockMvc.perform(get("/video/clip.mp4")
+                        .header("Range", "bytes=100-")
+                        .requestAttr(SENDFILE_SUPPORT, true))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(4096L);
+        assertThat(videoStreamService.getAvailableStreams()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.university.cyberwalk.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class GameStateBroadcasterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    @Test
+    void attackerStreamSeesDefenderJoin() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+
+        MvcResult stream = mockMvc.perform(get("/api/game/{roomId}/stream", roomId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(stream.getResponse().getContentAsString()).contains("\"defenderJoined\":false");
+
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+
+        assertThat(stream.getResponse().getContentAsString()).contains("\"defenderJoined\":true");
+    }
+
+    @Test
+    void streamSeesGameActions() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+
+        MvcResult stream = mockMvc.perform(get("/api/game/{roomId}/stream", roomId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        gamePlayService.startNewGame(roomId);
+        gamePlayService.selectLevel(roomId, gamePlayService.getAvailableLevels().get(0).getId());
+
+        assertThat(stream.getResponse().getContentAsString()).contains("\"gamePhase\":\"PROFILE_SELECT\"");
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.LevelDto;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class GameStateLongPollerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    @Autowired
+    private LevelEditorService levelEditorService;
+
+    @Autowired
+    private GameStateLongPoller gameStateLongPoller;
+
+    @Test
+    void unknownRoomAnswers404AndParksNothing() throws Exception {
+        int parkedBefore = gameStateLongPoller.getParkedCount();
+
+        mockMvc.perform(get("/api/game/{roomId}/state", "NOROOM").param("after", "\"0-0-0\""))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+
+        assertThat(gameStateLongPoller.getParkedCount()).isEqualTo(parkedBefore);
+    }
+
+    @Test
+    void timeoutWithoutChangeAnswers304() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        String tag = currentTag(roomId);
+
+        MvcResult poll = mockMvc.perform(get("/api/game/{roomId}/state", roomId).param("after", tag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        timeOut(poll);
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, tag));
+    }
+
+    @Test
+    void timeoutAfterContentChangeAnswersWithTheNewState() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        String tag = currentTag(roomId);
+
+        MvcResult poll = mockMvc.perform(get("/api/game/{roomId}/state", roomId).param("after", tag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Moves the tag without a room event, so the poll stays parked
+        LevelDto level = levelEditorService.getAllLevels().get(0);
+        levelEditorService.updateLevel(level.getId(), level);
+        assertThat(currentTag(roomId)).isNotEqualTo(tag);
+        timeOut(poll);
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, currentTag(roomId)))
+                .andExpect(content().string(containsString("\"roomId\":\"" + roomId + "\"")));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private String currentTag(String roomId) {
+        return "\"" + gamePlayService.getGameStateTag(roomId) + "\"";
+    }
+
+    // What the container does once the async timeout elapses
+    private static void timeOut(MvcResult poll) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) poll.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+    }
+}
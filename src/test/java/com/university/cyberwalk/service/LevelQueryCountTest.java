@@ -0,0 +1,113 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.LevelDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts for the level read paths and the turn path, from
+ * Hibernate statistics. They must not grow with the number of rows in a
+ * level. Write-behind flushes are pushed out of the way so they don't land
+ * in a measured call.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cyberwalk.rooms.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class LevelQueryCountTest {
+
+    @Autowired
+    private LevelEditorService levelEditorService;
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getLevelByIdLoadsTheTreeInFourQueries() {
+        Long levelId = levelEditorService.getAllLevels().get(0).getId();
+
+        statistics.clear();
+        LevelDto level = levelEditorService.getLevelById(levelId);
+
+        assertThat(level.getAttackScenarios()).isNotEmpty();
+        assertThat(level.getAttackScenarios().get(0).getAttackOptions()).isNotEmpty();
+        assertThat(level.getAttackScenarios().get(0).getAttackOptions().get(0).getDefenderChoices()).isNotEmpty();
+        // Profiles, scenarios, options and choices: one join-fetch each
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void getAllLevelsBatchFetchesEachCollection() {
+        statistics.clear();
+        List<LevelDto> levels = levelEditorService.getAllLevels();
+
+        assertThat(levels).hasSizeGreaterThan(1);
+        // Levels, then one batch per collection level: profiles, scenarios, options, choices
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void gameplayContentReadsComeFromTheContentGraph() {
+        Long levelId = gamePlayService.getAvailableLevels().get(0).getId();
+        Long scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+        Long optionId = gamePlayService.getAttackOptions(scenarioId).get(0).getId();
+
+        statistics.clear();
+        gamePlayService.getAvailableLevels();
+        gamePlayService.getDefenderProfiles(levelId);
+        gamePlayService.getAttackScenarios(levelId);
+        gamePlayService.getAttackOptions(scenarioId);
+        gamePlayService.getDefenderChoices(optionId);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void defenderChoiceTouchesOnlyTheLiveRoom() {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+        Long levelId = gamePlayService.getAvailableLevels().get(0).getId();
+        Long scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+        Long optionId = gamePlayService.getAttackOptions(scenarioId).get(0).getId();
+        gamePlayService.startNewGame(roomId);
+        gamePlayService.selectLevel(roomId, levelId);
+        gamePlayService.selectDefenderProfile(roomId, gamePlayService.getDefenderProfiles(levelId).get(0).getId());
+        gamePlayService.selectAttackScenario(roomId, scenarioId);
+        gamePlayService.selectAttackOption(roomId, optionId);
+
+        statistics.clear();
+        gamePlayService.makeDefenderChoice(roomId, gamePlayService.getDefenderChoices(optionId).get(0).getId());
+        gamePlayService.continueToNextRound(roomId);
+
+        // Level name and maxAttacks come from the room, content from the content graph
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        // Nor is a transaction opened or a connection checked out for it
+        assertThat(statistics.getTransactionCount()).isZero();
+        assertThat(statistics.getConnectCount()).isZero();
+    }
+}
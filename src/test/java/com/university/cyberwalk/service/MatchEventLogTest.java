@@ -0,0 +1,110 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.MatchEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MatchEventLogTest {
+
+    @Autowired
+    private MatchEventLog matchEventLog;
+
+    @Test
+    void reusedRoomCodeKeepsSeparateHistories() {
+        Instant firstRoom = Instant.now().minus(Duration.ofHours(3)).truncatedTo(ChronoUnit.MILLIS);
+        Instant secondRoom = firstRoom.plus(Duration.ofHours(2));
+        matchEventLog.append(event("REUSE1", firstRoom, MatchEvent.Type.GAME_STARTED));
+        matchEventLog.append(event("REUSE1", firstRoom, MatchEvent.Type.GAME_OVER));
+        matchEventLog.flush();
+        matchEventLog.append(event("REUSE1", secondRoom, MatchEvent.Type.GAME_STARTED));
+        matchEventLog.flush();
+
+        assertThat(matchEventLog.readRoom("REUSE1", firstRoom)).extracting(MatchEvent::getType)
+                .containsExactly(MatchEvent.Type.GAME_STARTED, MatchEvent.Type.GAME_OVER);
+        assertThat(matchEventLog.readRoom("REUSE1", secondRoom)).extracting(MatchEvent::getType)
+                .containsExactly(MatchEvent.Type.GAME_STARTED);
+    }
+
+    @Test
+    void readIncludesQueuedEventsWithoutFlushing() {
+        Instant created = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        matchEventLog.append(event("QUEUE1", created, MatchEvent.Type.GAME_STARTED));
+        matchEventLog.flush();
+        matchEventLog.append(event("QUEUE1", created, MatchEvent.Type.LEVEL_SELECTED));
+
+        List<MatchEvent> history = matchEventLog.readRoom("QUEUE1", created);
+
+        assertThat(history).extracting(MatchEvent::getType)
+                .containsExactly(MatchEvent.Type.GAME_STARTED, MatchEvent.Type.LEVEL_SELECTED);
+        assertThat(matchEventLog.getPendingCount()).isPositive();
+    }
+
+    @Test
+    void anotherNodeIndexesTheSharedSegments() {
+        Instant created = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        matchEventLog.append(event("SHARED", created, MatchEvent.Type.GAME_STARTED));
+        matchEventLog.flush();
+        matchEventLog.append(event("SHARED", created, MatchEvent.Type.LEVEL_SELECTED));
+        matchEventLog.flush();
+
+        // A second node, or this one after a restart, starts with an empty index
+        MatchEventLog otherNode = new MatchEventLog();
+        ReflectionTestUtils.setField(otherNode, "directory", ReflectionTestUtils.getField(matchEventLog, "directory"));
+
+        assertThat(otherNode.readRoom("SHARED", created)).extracting(MatchEvent::getType)
+                .containsExactly(MatchEvent.Type.GAME_STARTED, MatchEvent.Type.LEVEL_SELECTED);
+
+        // Frames appended later are picked up incrementally
+        matchEventLog.append(event("SHARED", created, MatchEvent.Type.GAME_OVER));
+        matchEventLog.flush();
+        assertThat(otherNode.readRoom("SHARED", created)).hasSize(3);
+    }
+
+    @Test
+    void expiredSegmentsAreDeletedAndLeaveTheIndex() throws Exception {
+        Instant created = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        matchEventLog.append(event("EXPIRE", created, MatchEvent.Type.GAME_STARTED));
+        matchEventLog.flush();
+        assertThat(matchEventLog.readRoom("EXPIRE", created)).hasSize(1);
+
+        // Closing rotates: the next flush starts a new segment
+        matchEventLog.close();
+        // The test profile's directory has a random part, so ask the bean
+        Path directory = Paths.get((String) ReflectionTestUtils.getField(matchEventLog, "directory"));
+        FileTime longAgo = FileTime.from(Instant.now().minus(Duration.ofDays(365)));
+        try (Stream<Path> segments = Files.list(directory)) {
+            for (Path segment : segments.toList()) {
+                Files.setLastModifiedTime(segment, longAgo);
+            }
+        }
+
+        assertThat(matchEventLog.deleteExpiredSegments()).isPositive();
+        assertThat(matchEventLog.readRoom("EXPIRE", created)).isEmpty();
+    }
+
+    private static MatchEvent event(String roomId, Instant roomCreatedAt, MatchEvent.Type type) {
+        MatchEvent event = new MatchEvent();
+        event.setRoomId(roomId);
+        event.setRoomCreatedAt(roomCreatedAt);
+        event.setType(type);
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,83 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.AttackOptionDto;
+import com.university.cyberwalk.dto.AttackScenarioDto;
+import com.university.cyberwalk.dto.LevelDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Level import and clone under the prod profile: Flyway schema and sequence
+ * ids, against H2 in PostgreSQL mode. Sequence ids defer the parent inserts
+ * to the next flush, which the plain-JDBC defender choice inserts must not
+ * run ahead of. Starting the context already seeds through importLevels.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cyberwalk-prod-${random.uuid};MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.minimum-idle=1",
+        "cyberwalk.match-log.directory=target/match-log-test/${random.uuid}",
+        "logging.level.root=WARN"
+})
+@ActiveProfiles("prod")
+class ProdProfileImportTest {
+
+    @Autowired
+    private LevelEditorService levelEditorService;
+
+    @Test
+    void seededLevelsHaveTheirDefenderChoices() {
+        List<LevelDto> levels = levelEditorService.getAllLevels();
+
+        assertThat(levels).isNotEmpty();
+        assertThat(countChoices(levels.get(0))).isPositive();
+    }
+
+    @Test
+    void exportedLevelImportsBackWithEveryChoice() throws Exception {
+        LevelDto source = levelEditorService.getAllLevels().get(0);
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        levelEditorService.exportLevels(List.of(source.getId()), bundle);
+
+        List<LevelDto> imported = levelEditorService.importLevels(new ByteArrayInputStream(bundle.toByteArray()));
+
+        assertThat(imported).hasSize(1);
+        LevelDto copy = levelEditorService.getLevelById(imported.get(0).getId());
+        assertThat(copy.getDefenderProfiles()).hasSameSizeAs(source.getDefenderProfiles());
+        assertThat(countChoices(copy)).isEqualTo(countChoices(source));
+    }
+
+    @Test
+    void clonedLevelCopiesProfilesAndChoices() {
+        LevelDto source = levelEditorService.getAllLevels().get(0);
+
+        LevelDto copy = levelEditorService.cloneLevel(source.getId());
+
+        assertThat(copy.getId()).isNotEqualTo(source.getId());
+        assertThat(copy.getDefenderProfiles()).hasSameSizeAs(source.getDefenderProfiles());
+        assertThat(countChoices(copy)).isEqualTo(countChoices(source));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static long countChoices(LevelDto level) {
+        long choices = 0;
+        for (AttackScenarioDto scenario : level.getAttackScenarios()) {
+            for (AttackOptionDto option : scenario.getAttackOptions()) {
+                choices += option.getDefenderChoices().size();
+            }
+        }
+        return choices;
+    }
+}
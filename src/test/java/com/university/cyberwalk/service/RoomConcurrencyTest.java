@@ -0,0 +1,316 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.DefenderChoiceDto;
+import com.university.cyberwalk.exception.ConflictException;
+import com.university.cyberwalk.exception.InvalidPhaseException;
+import com.university.cyberwalk.exception.RoomBusyException;
+import com.university.cyberwalk.exception.WrongTurnException;
+import com.university.cyberwalk.model.GameRoom;
+import com.university.cyberwalk.repository.GameRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel actions on one room: every phase has exactly one winner, scores
+ * are applied once, and the result survives a write-behind flush and a
+ * reload from the database. The stress test repeats that with thousands of
+ * calls across many rooms and reports the throughput.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomConcurrencyTest {
+
+    private static final int RACERS = 8;
+
+    // Stress: rooms x rounds x (launch + answer racers) calls, on one pool
+    private static final int STRESS_ROOMS = 100;
+    private static final int STRESS_ROUNDS = 4;
+    private static final int STRESS_RACERS = 10;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    @Autowired
+    private RoomStateEngine roomStateEngine;
+
+    @Autowired
+    private GameRoomRepository gameRoomRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void onlyOneJoinWinsARole() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+
+        List<RuntimeException> failures = race(Collections.nCopies(RACERS,
+                () -> gameRoomService.joinRoom(roomId, "ATTACKER")));
+
+        assertThat(winners(failures)).isEqualTo(1);
+        assertThat(losers(failures)).allMatch(ConflictException.class::isInstance);
+        assertThat(roomStateEngine.snapshot(roomId).getAttackerSessionId()).isNotNull();
+    }
+
+    @Test
+    void eachPhaseHasOneWinnerAndScoresApplyOnce() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        gameRoomService.joinRoom(roomId, "DEFENDER");
+        Long optionId = playToAttackOptionSelect(roomId);
+
+        List<RuntimeException> launches = race(Collections.nCopies(RACERS,
+                () -> gamePlayService.selectAttackOption(roomId, optionId)));
+
+        assertThat(winners(launches)).isEqualTo(1);
+        assertThat(losers(launches)).allMatch(InvalidPhaseException.class::isInstance);
+        GameRoom launched = roomStateEngine.snapshot(roomId);
+        assertThat(launched.getAttacksPerformed()).isEqualTo(1);
+        assertThat(launched.getGamePhase()).isEqualTo(GameRoom.GamePhase.DEFENDER_RESPONSE);
+
+        DefenderChoiceDto choice = gamePlayService.getDefenderChoices(optionId).get(0);
+        List<RuntimeException> answers = race(Collections.nCopies(RACERS,
+                () -> gamePlayService.makeDefenderChoice(roomId, choice.getId())));
+
+        assertThat(winners(answers)).isEqualTo(1);
+        assertThat(losers(answers)).allMatch(InvalidPhaseException.class::isInstance);
+        GameRoom answered = roomStateEngine.snapshot(roomId);
+        assertThat(answered.getDefenderScore()).isEqualTo(choice.getDefenderScoreDelta());
+        assertThat(answered.getAttackerScore()).isEqualTo(choice.getAttackerScoreDelta());
+        assertThat(answered.getAttacksPerformed()).isEqualTo(1);
+
+        assertSurvivesFlushAndReload(answered);
+    }
+
+    @Test
+    void mixedAttackerDefenderAndJoinRace() throws Exception {
+        String roomId = gameRoomService.createRoom().getRoomId();
+        gameRoomService.joinRoom(roomId, "ATTACKER");
+        Long optionId = playToAttackOptionSelect(roomId);
+        DefenderChoiceDto choice = gamePlayService.getDefenderChoices(optionId).get(0);
+
+        List<Callable<?>> launches = Collections.nCopies(RACERS,
+                () -> gamePlayService.selectAttackOption(roomId, optionId));
+        List<Callable<?>> joins = Collections.nCopies(RACERS,
+                () -> gameRoomService.joinRoom(roomId, "DEFENDER"));
+        List<Callable<?>> answers = Collections.nCopies(RACERS,
+                () -> gamePlayService.makeDefenderChoice(roomId, choice.getId()));
+        List<Callable<?>> actions = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            actions.add(launches.get(i));
+            actions.add(joins.get(i));
+            actions.add(answers.get(i));
+        }
+
+        List<RuntimeException> failures = race(actions);
+
+        int launchWinners = 0;
+        int joinWinners = 0;
+        int answerWinners = 0;
+        for (int i = 0; i < failures.size(); i++) {
+            RuntimeException failure = failures.get(i);
+            if (failure == null) {
+                switch (i % 3) {
+                    case 0 -> launchWinners++;
+                    case 1 -> joinWinners++;
+                    default -> answerWinners++;
+                }
+            } else {
+                assertThat(failure).isInstanceOfAny(InvalidPhaseException.class, WrongTurnException.class,
+                        ConflictException.class);
+            }
+        }
+        assertThat(launchWinners).isEqualTo(1);
+        assertThat(joinWinners).isEqualTo(1);
+        // A choice can only land after the launch, and then only once
+        assertThat(answerWinners).isBetween(0, 1);
+
+        GameRoom room = roomStateEngine.snapshot(roomId);
+        assertThat(room.getAttacksPerformed()).isEqualTo(1);
+        assertThat(room.getDefenderSessionId()).isNotNull();
+        assertThat(room.getDefenderScore()).isEqualTo(answerWinners * choice.getDefenderScoreDelta());
+        assertThat(room.getAttackerScore()).isEqualTo(answerWinners * choice.getAttackerScoreDelta());
+
+        assertSurvivesFlushAndReload(room);
+    }
+
+    @Test
+    void thousandsOfParallelActionsAcrossRoomsLoseNoUpdate() throws Exception {
+        List<String> roomIds = new ArrayList<>();
+        Long optionId = null;
+        for (int i = 0; i < STRESS_ROOMS; i++) {
+            String roomId = gameRoomService.createRoom().getRoomId();
+            gameRoomService.joinRoom(roomId, "ATTACKER");
+            gameRoomService.joinRoom(roomId, "DEFENDER");
+            optionId = playToAttackOptionSelect(roomId);
+            roomIds.add(roomId);
+        }
+        Long launchedOptionId = optionId;
+        Long scenarioId = gamePlayService.getAttackScenarios(gamePlayService.getAvailableLevels().get(0).getId())
+                .get(0).getId();
+        DefenderChoiceDto choice = gamePlayService.getDefenderChoices(optionId).get(0);
+
+        long calls = 0;
+        long busy = 0;
+        long racingNanos = 0;
+        for (int round = 1; round <= STRESS_ROUNDS; round++) {
+            // Per room: launches and answers interleaved, all rooms in one race
+            List<Callable<?>> actions = new ArrayList<>();
+            for (String roomId : roomIds) {
+                for (int i = 0; i < STRESS_RACERS; i++) {
+                    actions.add(() -> gamePlayService.selectAttackOption(roomId, launchedOptionId));
+                    actions.add(() -> gamePlayService.makeDefenderChoice(roomId, choice.getId()));
+                }
+            }
+
+            long start = System.nanoTime();
+            List<RuntimeException> failures = race(actions);
+            racingNanos += System.nanoTime() - start;
+            calls += actions.size();
+
+            int perRoom = 2 * STRESS_RACERS;
+            for (int r = 0; r < roomIds.size(); r++) {
+                int launchWinners = 0;
+                int answerWinners = 0;
+                for (int i = r * perRoom; i < (r + 1) * perRoom; i++) {
+                    RuntimeException failure = failures.get(i);
+                    if (failure == null) {
+                        if (i % 2 == 0) {
+                            launchWinners++;
+                        } else {
+                            answerWinners++;
+                        }
+                    } else if (failure instanceof RoomBusyException) {
+                        busy++;
+                    } else {
+                        assertThat(failure).isInstanceOfAny(InvalidPhaseException.class, WrongTurnException.class);
+                    }
+                }
+                assertThat(launchWinners).as("launches in room %d, round %d", r, round).isEqualTo(1);
+                assertThat(answerWinners).as("answers in room %d, round %d", r, round).isBetween(0, 1);
+
+                // Finish the round outside the race
+                String roomId = roomIds.get(r);
+                if (answerWinners == 0) {
+                    gamePlayService.makeDefenderChoice(roomId, choice.getId());
+                }
+                if (round < STRESS_ROUNDS) {
+                    gamePlayService.continueToNextRound(roomId);
+                    gamePlayService.selectAttackScenario(roomId, scenarioId);
+                }
+            }
+        }
+
+        double callsPerSecond = calls / (racingNanos / 1e9);
+        System.out.printf("RoomConcurrencyTest: %d calls on %d rooms in %d ms, %.0f calls/s, %d RoomBusy%n",
+                calls, STRESS_ROOMS, racingNanos / 1_000_000, callsPerSecond, busy);
+        assertThat(busy).as("RoomBusyException outcomes").isLessThan(calls / 100);
+
+        for (String roomId : roomIds) {
+            GameRoom room = roomStateEngine.snapshot(roomId);
+            assertThat(room.getAttacksPerformed()).isEqualTo(STRESS_ROUNDS);
+            assertThat(room.getDefenderScore()).isEqualTo(STRESS_ROUNDS * choice.getDefenderScoreDelta());
+            assertThat(room.getAttackerScore()).isEqualTo(STRESS_ROUNDS * choice.getAttackerScoreDelta());
+            assertSurvivesFlushAndReload(room);
+        }
+    }
+
+    @Test
+    void staleFlushDropsTheRoomAndReloadsTheDatabaseState() {
+        String roomId = gameRoomService.createRoom().getRoomId();
+
+        // Another writer, e.g. the room's previous owner node, updates the row
+        GameRoom row = gameRoomRepository.findByRoomId(roomId).orElseThrow();
+        row.setAttackerScore(42);
+        gameRoomRepository.save(row);
+
+        gameRoomService.updateScore(roomId, 1, 1);
+        roomStateEngine.flushDirtyRooms();
+
+        assertThat(roomStateEngine.isCached(roomId)).isFalse();
+        assertThat(roomStateEngine.snapshot(roomId).getAttackerScore()).isEqualTo(42);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Long playToAttackOptionSelect(String roomId) {
+        Long levelId = gamePlayService.getAvailableLevels().get(0).getId();
+        Long profileId = gamePlayService.getDefenderProfiles(levelId).get(0).getId();
+        Long scenarioId = gamePlayService.getAttackScenarios(levelId).get(0).getId();
+        gamePlayService.startNewGame(roomId);
+        gamePlayService.selectLevel(roomId, levelId);
+        gamePlayService.selectDefenderProfile(roomId, profileId);
+        gamePlayService.selectAttackScenario(roomId, scenarioId);
+        return gamePlayService.getAttackOptions(scenarioId).get(0).getId();
+    }
+
+    private void assertSurvivesFlushAndReload(GameRoom expected) {
+        String roomId = expected.getRoomId();
+        roomStateEngine.flushDirtyRooms();
+        roomStateEngine.evictIdle(LocalDateTime.now().plusMinutes(1));
+        assertThat(roomStateEngine.isCached(roomId)).isFalse();
+
+        GameRoom reloaded = roomStateEngine.snapshot(roomId);
+        assertThat(reloaded.getGamePhase()).isEqualTo(expected.getGamePhase());
+        assertThat(reloaded.getAttacksPerformed()).isEqualTo(expected.getAttacksPerformed());
+        assertThat(reloaded.getAttackerScore()).isEqualTo(expected.getAttackerScore());
+        assertThat(reloaded.getDefenderScore()).isEqualTo(expected.getDefenderScore());
+        assertThat(reloaded.getDefenderSessionId()).isEqualTo(expected.getDefenderSessionId());
+    }
+
+    // Starts every action at once; returns each action's failure, null for a success
+    private List<RuntimeException> race(List<? extends Callable<?>> actions) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<RuntimeException>> results = new ArrayList<>();
+        for (Callable<?> action : actions) {
+            results.add(executor.submit(() -> {
+                go.await();
+                try {
+                    action.call();
+                    return null;
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            }));
+        }
+        go.countDown();
+
+        List<RuntimeException> failures = new ArrayList<>();
+        for (Future<RuntimeException> result : results) {
+            failures.add(result.get(30, TimeUnit.SECONDS));
+        }
+        return failures;
+    }
+
+    private static long winners(List<RuntimeException> failures) {
+        return failures.stream().filter(failure -> failure == null).count();
+    }
+
+    private static List<RuntimeException> losers(List<RuntimeException> failures) {
+        return failures.stream().filter(failure -> failure != null).toList();
+    }
+}
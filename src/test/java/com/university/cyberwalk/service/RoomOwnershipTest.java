@@ -0,0 +1,63 @@
+package com.university.cyberwalk.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomOwnershipTest {
+
+    private static final String SELF = "http://self";
+    private static final String OTHER = "http://other";
+
+    private final HashRing both = new HashRing(List.of(SELF, OTHER), 128);
+    private final HashRing otherOnly = new HashRing(List.of(OTHER), 128);
+    private final HashRing selfOnly = new HashRing(List.of(SELF), 128);
+
+    @Test
+    void roomsGainedFromALiveNodeStayThereDuringTheHandover() {
+        String roomId = roomOwnedBySelf();
+        RoomOwnership ownership = new RoomOwnership(both, SELF, otherOnly, System.currentTimeMillis() + 60_000);
+
+        assertThat(ownership.ownerOf(roomId)).isEqualTo(OTHER);
+        assertThat(ownership.isLocal(roomId)).isFalse();
+        assertThat(ownership.settled().isLocal(roomId)).isTrue();
+    }
+
+    @Test
+    void handoverEndsAtItsDeadline() {
+        String roomId = roomOwnedBySelf();
+        long deadline = System.currentTimeMillis() - 1;
+        RoomOwnership ownership = new RoomOwnership(both, SELF, otherOnly, deadline);
+
+        assertThat(ownership.isLocal(roomId)).isTrue();
+        assertThat(ownership.isHandoverOver(deadline)).isTrue();
+    }
+
+    @Test
+    void roomsOfAGoneNodeMoveAtOnce() {
+        RoomOwnership ownership = new RoomOwnership(selfOnly, SELF, both, System.currentTimeMillis() + 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(ownership.isLocal("R" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void roomsThisNodeLosesMoveAtOnce() {
+        RoomOwnership ownership = new RoomOwnership(both, SELF, selfOnly, System.currentTimeMillis() + 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(ownership.ownerOf("R" + i)).isEqualTo(both.ownerOf("R" + i));
+        }
+    }
+
+    private String roomOwnedBySelf() {
+        for (int i = 0; ; i++) {
+            if (both.ownerOf("R" + i).equals(SELF)) {
+                return "R" + i;
+            }
+        }
+    }
+}
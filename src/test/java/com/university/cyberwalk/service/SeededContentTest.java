@@ -0,0 +1,56 @@
+package com.university.cyberwalk.service;
+
+import com.university.cyberwalk.dto.AttackOptionDto;
+import com.university.cyberwalk.dto.AttackScenarioDto;
+import com.university.cyberwalk.dto.DefenderChoiceDto;
+import com.university.cyberwalk.dto.LevelDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The levels seeded from content/levels.json are complete: every defender
+ * choice tells the player what happened.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SeededContentTest {
+
+    @Autowired
+    private LevelEditorService levelEditorService;
+
+    @Test
+    void everyDefenderChoiceHasAnOutcome() {
+        List<DefenderChoiceDto> choices = new ArrayList<>();
+        for (LevelDto level : levelEditorService.getAllLevels()) {
+            for (AttackScenarioDto scenario : level.getAttackScenarios()) {
+                for (AttackOptionDto option : scenario.getAttackOptions()) {
+                    choices.addAll(option.getDefenderChoices());
+                }
+            }
+        }
+
+        assertThat(choices).isNotEmpty();
+        assertThat(choices).allSatisfy(choice -> {
+            assertThat(choice.getLabel()).isNotBlank();
+            assertThat(choice.getOutcome()).as("outcome of \"%s\"", choice.getLabel()).isNotBlank();
+        });
+    }
+
+    @Test
+    void ministryWebsiteCheckReportsThePhishingEmail() {
+        LevelDto firstLevel = levelEditorService.getAllLevels().get(0);
+        DefenderChoiceDto verify = firstLevel.getAttackScenarios().get(2).getAttackOptions().get(0)
+                .getDefenderChoices().get(1);
+
+        assertThat(verify.getLabel()).isEqualTo("Check official ministry website");
+        assertThat(verify.getOutcome())
+                .isEqualTo("No such scholarship exists on official site. Email reported as phishing.");
+    }
+}